@@ -0,0 +1,55 @@
+package com.food.order.benchmark;
+
+import com.food.order.catalog.OrderPricing;
+import com.food.order.dto.OrderRequest;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Representative payloads shared by the benchmarks: a typical basket of a
+ * handful of items with realistic string lengths.
+ */
+final class BenchmarkFixtures {
+
+    static final int ITEMS_PER_ORDER = 5;
+
+    static final long UNIT_PRICE_CENTS = 1_000;
+
+    private BenchmarkFixtures() {
+    }
+
+    static OrderRequest orderRequest() {
+        List<OrderRequest.OrderItemRequest> items = new ArrayList<>(ITEMS_PER_ORDER);
+        for (int i = 0; i < ITEMS_PER_ORDER; i++) {
+            items.add(OrderRequest.OrderItemRequest.builder()
+                    .menuItemId(1_000L + i)
+                    .quantity(1 + i % 3)
+                    .specialInstructions(i == 0 ? "No onions" : null)
+                    .build());
+        }
+
+        return OrderRequest.builder()
+                .customerId(42L)
+                .restaurantId(7L)
+                .items(items)
+                .deliveryAddress("221B Baker Street, London NW1 6XE")
+                .contactPhone("+447700900123")
+                .specialInstructions("Leave at the door")
+                .build();
+    }
+
+    // Flat prices, as MenuPriceCatalog would return for unknown menu items
+    static OrderPricing pricing(OrderRequest request) {
+        int count = request.getItems().size();
+        long[] unitPrices = new long[count];
+        long[] lineTotals = new long[count];
+        long total = 0;
+        for (int i = 0; i < count; i++) {
+            unitPrices[i] = UNIT_PRICE_CENTS;
+            lineTotals[i] = UNIT_PRICE_CENTS * request.getItems().get(i).getQuantity();
+            total += lineTotals[i];
+        }
+        return new OrderPricing(unitPrices, lineTotals, total);
+    }
+}
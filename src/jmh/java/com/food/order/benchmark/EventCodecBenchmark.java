@@ -0,0 +1,86 @@
+package com.food.order.benchmark;
+
+import com.food.order.dto.OrderRequest;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.kafka.OrderEventBinaryDeserializer;
+import com.food.order.kafka.OrderEventBinarySerializer;
+import com.food.order.mapper.OrderMapperImpl;
+import com.food.order.model.Order;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonDeserializer;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Kafka value encode/decode cost of the JSON and binary event formats.
+ * Bytes per event for both formats are printed once per fork.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class EventCodecBenchmark {
+
+    private static final String TOPIC = "order.status.changed";
+
+    private JsonSerializer<OrderEventPayload> jsonSerializer;
+    private JsonDeserializer<OrderEventPayload> jsonDeserializer;
+    private OrderEventBinarySerializer binarySerializer;
+    private OrderEventBinaryDeserializer binaryDeserializer;
+
+    private OrderEventPayload event;
+    private byte[] jsonBytes;
+    private byte[] binaryBytes;
+
+    @Setup
+    public void setUp() {
+        jsonSerializer = new JsonSerializer<>();
+        jsonSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+        jsonDeserializer = new JsonDeserializer<>(OrderEventPayload.class, false);
+        binarySerializer = new OrderEventBinarySerializer();
+        binaryDeserializer = new OrderEventBinaryDeserializer();
+
+        OrderRequest request = BenchmarkFixtures.orderRequest();
+
+        Order order = new OrderMapperImpl().toOrder(request, BenchmarkFixtures.pricing(request));
+        order.setId(7_312_640_118_784L);
+        order.setUpdatedAt(LocalDateTime.now());
+        event = OrderEventPayload.statusChanged(order, order.getStatus());
+
+        jsonBytes = jsonSerializer.serialize(TOPIC, event);
+        binaryBytes = binarySerializer.serialize(TOPIC, event);
+
+        System.out.printf("%nBytes per event: json=%d binary=%d%n", jsonBytes.length, binaryBytes.length);
+    }
+
+    @TearDown
+    public void tearDown() {
+        jsonSerializer.close();
+        jsonDeserializer.close();
+    }
+
+    @Benchmark
+    public byte[] encodeJson() {
+        return jsonSerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public byte[] encodeBinary() {
+        return binarySerializer.serialize(TOPIC, event);
+    }
+
+    @Benchmark
+    public OrderEventPayload decodeJson() {
+        return jsonDeserializer.deserialize(TOPIC, jsonBytes);
+    }
+
+    @Benchmark
+    public OrderEventPayload decodeBinary() {
+        return binaryDeserializer.deserialize(TOPIC, binaryBytes);
+    }
+}
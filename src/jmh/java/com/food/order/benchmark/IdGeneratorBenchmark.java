@@ -0,0 +1,116 @@
+package com.food.order.benchmark;
+
+import com.food.order.id.OrderIdGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Id generation under contention, against the UUID-based order number it
+ * replaced. {@code sharedNode} has every thread hammer one generator (one
+ * instance under load); {@code simulatedNodes} spreads the threads over
+ * {@value #NODES} generators with distinct node ids (a cluster).
+ *
+ * <p>Both record the first ids of every thread and, at the end of each
+ * trial, fail the run if any id repeats, or if a thread ever saw its
+ * generator go backwards.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(8)
+public class IdGeneratorBenchmark {
+
+    static final int NODES = 4;
+
+    // Per thread; enough to span many milliseconds and sequence rollovers
+    private static final int RECORDED_IDS = 1 << 20;
+
+    @State(Scope.Benchmark)
+    public static class Cluster {
+
+        final OrderIdGenerator[] generators = new OrderIdGenerator[NODES];
+        final AtomicInteger threads = new AtomicInteger();
+        final List<Recorder> recorders = new CopyOnWriteArrayList<>();
+
+        @Setup(Level.Trial)
+        public void setUp() {
+            for (int node = 0; node < NODES; node++) {
+                generators[node] = new OrderIdGenerator(node, System::currentTimeMillis);
+            }
+        }
+
+        @TearDown(Level.Trial)
+        public void verify() {
+            long[] all = recorders.stream()
+                    .flatMapToLong(recorder -> Arrays.stream(recorder.ids, 0, recorder.size))
+                    .sorted()
+                    .toArray();
+            for (int i = 1; i < all.length; i++) {
+                if (all[i] == all[i - 1]) {
+                    throw new IllegalStateException("Duplicate id " + all[i]
+                            + " from node " + OrderIdGenerator.nodeOf(all[i]));
+                }
+            }
+            for (Recorder recorder : recorders) {
+                if (recorder.outOfOrder) {
+                    throw new IllegalStateException("Generator went backwards for node " + recorder.node);
+                }
+            }
+            System.out.printf("%n%d ids checked, no duplicates%n", all.length);
+        }
+    }
+
+    @State(Scope.Thread)
+    public static class Recorder {
+
+        final long[] ids = new long[RECORDED_IDS];
+        int size;
+        int node;
+        boolean outOfOrder;
+
+        @Setup(Level.Trial)
+        public void register(Cluster cluster) {
+            node = cluster.threads.getAndIncrement() % NODES;
+            cluster.recorders.add(this);
+        }
+
+        long record(long id) {
+            if (size > 0 && id <= ids[size - 1]) {
+                outOfOrder = true;
+            }
+            if (size < ids.length) {
+                ids[size++] = id;
+            }
+            return id;
+        }
+    }
+
+    @Benchmark
+    public long sharedNode(Cluster cluster, Recorder recorder) {
+        return recorder.record(cluster.generators[0].nextId());
+    }
+
+    @Benchmark
+    public long simulatedNodes(Cluster cluster, Recorder recorder) {
+        return recorder.record(cluster.generators[recorder.node].nextId());
+    }
+
+    @Benchmark
+    public String orderNumber(Cluster cluster) {
+        return OrderIdGenerator.orderNumber(cluster.generators[0].nextId());
+    }
+
+    // The previous scheme: SecureRandom-backed UUID truncated to 8 hex chars
+    @Benchmark
+    public String uuidOrderNumber() {
+        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+    }
+}
@@ -0,0 +1,170 @@
+package com.food.order.benchmark;
+
+import com.food.order.catalog.LongLongHashMap;
+import com.food.order.catalog.MenuPriceCatalog;
+import com.food.order.catalog.OrderPricing;
+import com.food.order.dto.MenuPriceRow;
+import com.food.order.dto.OrderRequest;
+import com.food.order.repository.MenuItemPriceRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.support.SimpleTransactionStatus;
+
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.LongStream;
+
+/**
+ * Price lookups against a catalog of {@value #ITEMS} menu items: the
+ * primitive {@link LongLongHashMap} behind {@link MenuPriceCatalog} versus
+ * the boxed {@code HashMap<Long, BigDecimal>} it replaces, plus pricing of
+ * a whole order through the real catalog.
+ *
+ * <p>Setup prints the retained heap of both maps (measured around a forced
+ * GC, so approximate) alongside the map's own table size.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+@State(Scope.Benchmark)
+public class MenuPriceCatalogBenchmark {
+
+    static final int ITEMS = 1_000_000;
+
+    // Ids are sparse and unordered, like real menu item keys
+    private static final long ID_STRIDE = 7_919;
+
+    private LongLongHashMap primitive;
+    private Map<Long, BigDecimal> boxed;
+    private MenuPriceCatalog catalog;
+    private OrderRequest request;
+    private long[] lookupIds;
+
+    @Setup
+    public void setUp() {
+        long before = usedHeap();
+        primitive = new LongLongHashMap(ITEMS);
+        for (int i = 0; i < ITEMS; i++) {
+            primitive.put(menuItemId(i), priceCents(i));
+        }
+        long primitiveBytes = usedHeap() - before;
+
+        before = usedHeap();
+        boxed = new HashMap<>();
+        for (int i = 0; i < ITEMS; i++) {
+            boxed.put(menuItemId(i), BigDecimal.valueOf(priceCents(i), 2));
+        }
+        long boxedBytes = usedHeap() - before;
+
+        System.out.printf("%nHeap for %,d prices: LongLongHashMap=%,d KiB (tables %,d KiB) HashMap<Long, BigDecimal>=%,d KiB%n",
+                ITEMS, primitiveBytes / 1024, primitive.memoryBytes() / 1024, boxedBytes / 1024);
+
+        catalog = new MenuPriceCatalog(stubRepository(), new NoOpTransactionManager(), new SimpleMeterRegistry());
+        catalog.afterSingletonsInstantiated();
+        if (catalog.size() != ITEMS) {
+            throw new IllegalStateException("Catalog loaded " + catalog.size() + " of " + ITEMS + " prices");
+        }
+
+        request = BenchmarkFixtures.orderRequest();
+        List<OrderRequest.OrderItemRequest> items = request.getItems();
+        for (int i = 0; i < items.size(); i++) {
+            items.get(i).setMenuItemId(menuItemId(ThreadLocalRandom.current().nextInt(ITEMS)));
+        }
+
+        lookupIds = new long[1024];
+        for (int i = 0; i < lookupIds.length; i++) {
+            lookupIds[i] = menuItemId(ThreadLocalRandom.current().nextInt(ITEMS));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void primitiveLookup(Blackhole blackhole) {
+        for (long id : lookupIds) {
+            blackhole.consume(primitive.get(id, -1));
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(1024)
+    public void boxedLookup(Blackhole blackhole) {
+        for (long id : lookupIds) {
+            blackhole.consume(boxed.get(id));
+        }
+    }
+
+    @Benchmark
+    public OrderPricing priceOrder() {
+        return catalog.price(request);
+    }
+
+    // Previous mapper arithmetic: BigDecimal per line and for the total
+    @Benchmark
+    public BigDecimal priceOrderBoxed() {
+        BigDecimal total = BigDecimal.ZERO;
+        for (OrderRequest.OrderItemRequest item : request.getItems()) {
+            total = total.add(boxed.get(item.getMenuItemId()).multiply(BigDecimal.valueOf(item.getQuantity())));
+        }
+        return total;
+    }
+
+    private static long menuItemId(int i) {
+        return 1_000_000L + i * ID_STRIDE;
+    }
+
+    private static long priceCents(int i) {
+        return 199 + (i % 4_000);
+    }
+
+    private static long usedHeap() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    // Serves the bulk-load queries only; refresh is never scheduled here
+    private static MenuItemPriceRepository stubRepository() {
+        return (MenuItemPriceRepository) Proxy.newProxyInstance(
+                MenuItemPriceRepository.class.getClassLoader(),
+                new Class<?>[] {MenuItemPriceRepository.class},
+                (proxy, method, args) -> switch (method.getName()) {
+                    case "countActive" -> (long) ITEMS;
+                    case "findMaxUpdatedAt" -> LocalDateTime.now();
+                    case "streamActive" -> LongStream.range(0, ITEMS)
+                            .mapToObj(i -> new MenuPriceRow(menuItemId((int) i), priceCents((int) i), true, LocalDateTime.now()));
+                    case "findChangedSince" -> new ArrayList<MenuPriceRow>();
+                    default -> throw new UnsupportedOperationException(method.getName());
+                });
+    }
+
+    private static final class NoOpTransactionManager implements PlatformTransactionManager {
+
+        @Override
+        public TransactionStatus getTransaction(TransactionDefinition definition) {
+            return new SimpleTransactionStatus();
+        }
+
+        @Override
+        public void commit(TransactionStatus status) {
+        }
+
+        @Override
+        public void rollback(TransactionStatus status) {
+        }
+    }
+}
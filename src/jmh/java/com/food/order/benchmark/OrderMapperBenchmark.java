@@ -0,0 +1,41 @@
+package com.food.order.benchmark;
+
+import com.food.order.catalog.OrderPricing;
+import com.food.order.dto.OrderRequest;
+import com.food.order.mapper.OrderMapper;
+import com.food.order.mapper.OrderMapperImpl;
+import com.food.order.model.Order;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Create-path mapping: MapStruct field copy plus item linking in
+ * {@code linkItems}. Price lookup is covered by
+ * {@link MenuPriceCatalogBenchmark}, id and order-number generation by
+ * {@link IdGeneratorBenchmark}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class OrderMapperBenchmark {
+
+    private OrderMapper orderMapper;
+    private OrderRequest request;
+    private OrderPricing pricing;
+
+    @Setup
+    public void setUp() {
+        orderMapper = new OrderMapperImpl();
+        request = BenchmarkFixtures.orderRequest();
+        pricing = BenchmarkFixtures.pricing(request);
+    }
+
+    @Benchmark
+    public Order toOrder() {
+        return orderMapper.toOrder(request, pricing);
+    }
+}
@@ -0,0 +1,76 @@
+package com.food.order.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.food.order.dto.OrderDetails;
+import com.food.order.dto.OrderRequest;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.mapper.OrderMapper;
+import com.food.order.mapper.OrderMapperImpl;
+import com.food.order.model.Order;
+import com.food.order.model.OrderItem;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.kafka.support.serializer.JsonSerializer;
+
+import java.time.LocalDateTime;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JSON encoding of what actually leaves the service: the HTTP response
+ * body ({@link OrderDetails}) and the Kafka record value
+ * ({@link OrderEventPayload}) through spring-kafka's JsonSerializer.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private JsonSerializer<Object> kafkaSerializer;
+    private OrderDetails orderDetails;
+    private OrderEventPayload eventPayload;
+
+    @Setup
+    public void setUp() {
+        // Mirrors Spring Boot's auto-configured ObjectMapper
+        objectMapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        kafkaSerializer = new JsonSerializer<>();
+        kafkaSerializer.configure(Map.of(JsonSerializer.ADD_TYPE_INFO_HEADERS, false), false);
+
+        OrderMapper orderMapper = new OrderMapperImpl();
+        OrderRequest request = BenchmarkFixtures.orderRequest();
+        Order order = orderMapper.toOrder(request, BenchmarkFixtures.pricing(request));
+        order.setId(123_456_789L);
+        long itemId = 1;
+        for (OrderItem item : order.getItems()) {
+            item.setId(itemId++);
+        }
+        order.setUpdatedAt(LocalDateTime.now());
+
+        orderDetails = orderMapper.toOrderDetails(order);
+        eventPayload = OrderEventPayload.created(order);
+    }
+
+    @TearDown
+    public void tearDown() {
+        kafkaSerializer.close();
+    }
+
+    @Benchmark
+    public byte[] httpResponse() throws Exception {
+        return objectMapper.writeValueAsBytes(orderDetails);
+    }
+
+    @Benchmark
+    public byte[] kafkaRecordValue() {
+        return kafkaSerializer.serialize("order.created", eventPayload);
+    }
+}
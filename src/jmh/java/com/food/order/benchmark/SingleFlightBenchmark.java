@@ -0,0 +1,132 @@
+package com.food.order.benchmark;
+
+import com.food.order.cache.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Single-flight coalescing of a simulated 1 ms query.
+ *
+ * <p>Before measuring, {@link Flights#proveOneQuery()} starts {@value #CALLERS}
+ * concurrent callers for one key while the query is held open, waits until
+ * every one of them has joined, then releases it: the run fails unless the
+ * loader ran exactly once and all callers got its result.
+ *
+ * <p>The benchmarks then compare a hot key (every thread on the same
+ * order) with a spread of keys, where little can be coalesced.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@Threads(16)
+public class SingleFlightBenchmark {
+
+    static final int CALLERS = 64;
+
+    private static final Duration TIMEOUT = Duration.ofSeconds(5);
+
+    @State(Scope.Benchmark)
+    public static class Flights {
+
+        SimpleMeterRegistry registry;
+        SingleFlight singleFlight;
+        final AtomicInteger loads = new AtomicInteger();
+
+        @Setup(Level.Trial)
+        public void setUp() throws Exception {
+            registry = new SimpleMeterRegistry();
+            singleFlight = new SingleFlight(registry);
+            proveOneQuery();
+        }
+
+        void proveOneQuery() throws Exception {
+            AtomicInteger queries = new AtomicInteger();
+            CountDownLatch release = new CountDownLatch(1);
+
+            List<Future<String>> results = new ArrayList<>(CALLERS);
+            try (ExecutorService callers = Executors.newFixedThreadPool(CALLERS)) {
+                for (int i = 0; i < CALLERS; i++) {
+                    results.add(callers.submit(() -> singleFlight.execute("proof", 42L, TIMEOUT, () -> {
+                        queries.incrementAndGet();
+                        await(release);
+                        return "order-42";
+                    })));
+                }
+
+                // Hold the query open until all other callers are waiting on it
+                long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+                while (calls("proof", "follower") < CALLERS - 1 && System.nanoTime() < deadline) {
+                    Thread.sleep(1);
+                }
+                release.countDown();
+
+                for (Future<String> result : results) {
+                    if (!"order-42".equals(result.get())) {
+                        throw new IllegalStateException("Caller received a different result");
+                    }
+                }
+            }
+
+            if (queries.get() != 1) {
+                throw new IllegalStateException(CALLERS + " concurrent callers ran " + queries.get() + " queries");
+            }
+            System.out.printf("%n%d concurrent callers, 1 query%n", CALLERS);
+        }
+
+        @TearDown(Level.Trial)
+        public void report() {
+            System.out.printf("%nloads=%d, leader=%.0f, follower=%.0f%n", loads.get(),
+                    calls("order", "leader"), calls("order", "follower"));
+        }
+
+        double calls(String query, String role) {
+            var counter = registry.find("order.singleflight.calls").tags("query", query, "role", role).functionCounter();
+            return counter == null ? 0 : counter.count();
+        }
+
+        String load(long orderId) {
+            loads.incrementAndGet();
+            LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+            return "order-" + orderId;
+        }
+
+        private static void await(CountDownLatch latch) {
+            try {
+                latch.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    @Benchmark
+    public String hotKey(Flights flights) {
+        return flights.singleFlight.execute("order", 1L, TIMEOUT, () -> flights.load(1L));
+    }
+
+    @Benchmark
+    public String spreadKeys(Flights flights) {
+        long orderId = ThreadLocalRandom.current().nextLong(1_000);
+        return flights.singleFlight.execute("order", orderId, TIMEOUT, () -> flights.load(orderId));
+    }
+
+    // Baseline: every caller runs its own query
+    @Benchmark
+    public String direct(Flights flights) {
+        return flights.load(1L);
+    }
+}
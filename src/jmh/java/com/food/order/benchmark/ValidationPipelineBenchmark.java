@@ -0,0 +1,103 @@
+package com.food.order.benchmark;
+
+import com.food.order.dto.OrderRequest;
+import com.food.order.validation.OrderValidationPipeline;
+import com.food.order.validation.OrderValidator;
+import com.food.order.validation.stub.CustomerRiskValidator;
+import com.food.order.validation.stub.ItemAvailabilityValidator;
+import com.food.order.validation.stub.RestaurantOpenValidator;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Pre-order checks with the stub latencies from application.yml (20, 30 and
+ * 40 ms): sequential calls, the concurrent pipeline with caching disabled,
+ * and the pipeline with the restaurant and risk verdicts cached, where only
+ * the item check is left to wait for.
+ *
+ * <p>Setup also checks that a rejection is not held up by slower checks.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ValidationPipelineBenchmark {
+
+    private static final Duration DEADLINE = Duration.ofMillis(300);
+
+    private List<OrderValidator> validators;
+    private OrderValidationPipeline uncached;
+    private OrderValidationPipeline cached;
+    private OrderRequest request;
+
+    @Setup
+    public void setUp() {
+        validators = validators(Duration.ZERO, Duration.ZERO, Set.of());
+        uncached = new OrderValidationPipeline(validators, new SimpleMeterRegistry(), DEADLINE, 10_000);
+        cached = new OrderValidationPipeline(
+                validators(Duration.ofMinutes(5), Duration.ofMinutes(5), Set.of()),
+                new SimpleMeterRegistry(), DEADLINE, 10_000);
+        request = BenchmarkFixtures.orderRequest();
+
+        proveFailFast();
+    }
+
+    @Benchmark
+    public void sequential() throws Exception {
+        for (OrderValidator validator : validators) {
+            if (!validator.validate(request).accepted()) {
+                throw new IllegalStateException(validator.name());
+            }
+        }
+    }
+
+    @Benchmark
+    public void pipeline() {
+        uncached.validate(request);
+    }
+
+    @Benchmark
+    public void pipelineCached() {
+        cached.validate(request);
+    }
+
+    // A closed restaurant (20 ms) must fail the order before the 40 ms risk check answers
+    private void proveFailFast() {
+        OrderRequest closed = BenchmarkFixtures.orderRequest();
+        closed.setRestaurantId(ThreadLocalRandom.current().nextLong(1_000, 2_000));
+        OrderValidationPipeline pipeline = new OrderValidationPipeline(
+                validators(Duration.ZERO, Duration.ZERO, Set.of(closed.getRestaurantId())),
+                new SimpleMeterRegistry(), DEADLINE, 10_000);
+
+        // One accepted order first, so class loading and the virtual thread
+        // scheduler's start-up are not counted against the rejection
+        pipeline.validate(BenchmarkFixtures.orderRequest());
+
+        long started = System.nanoTime();
+        try {
+            pipeline.validate(closed);
+            throw new IllegalStateException("Order for a closed restaurant was accepted");
+        } catch (OrderValidationPipeline.OrderRejectedException e) {
+            long elapsedMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started);
+            if (!"restaurant-open".equals(e.getCheck()) || elapsedMs >= 40) {
+                throw new IllegalStateException("Rejection by " + e.getCheck() + " took " + elapsedMs + " ms");
+            }
+            System.out.printf("%nRejected by %s after %d ms%n", e.getCheck(), elapsedMs);
+        }
+    }
+
+    private static List<OrderValidator> validators(Duration restaurantTtl, Duration riskTtl, Set<Long> closed) {
+        return List.of(
+                new RestaurantOpenValidator(Duration.ofMillis(20), restaurantTtl, closed),
+                new ItemAvailabilityValidator(Duration.ofMillis(30), Set.of()),
+                new CustomerRiskValidator(Duration.ofMillis(40), riskTtl, 100));
+    }
+}
@@ -0,0 +1,59 @@
+package com.food.order.loadtest;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Collects raw latency samples for one operation and reduces them to
+ * percentiles at the end of the run. Samples are kept exactly; at load-test
+ * scale (a few million samples) that is cheaper than it is inaccurate.
+ */
+final class LatencyRecorder {
+
+    private long[] samples = new long[1 << 16];
+    private int size;
+    private long errors;
+
+    synchronized void record(long latencyNanos) {
+        if (size == samples.length) {
+            samples = Arrays.copyOf(samples, size * 2);
+        }
+        samples[size++] = latencyNanos;
+    }
+
+    synchronized void recordError() {
+        errors++;
+    }
+
+    synchronized Map<String, Object> summarize(double measuredSeconds) {
+        long[] sorted = Arrays.copyOf(samples, size);
+        Arrays.sort(sorted);
+
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", size);
+        summary.put("errors", errors);
+        summary.put("throughputPerSec", round(size / measuredSeconds));
+        summary.put("p50Ms", percentileMillis(sorted, 0.50));
+        summary.put("p95Ms", percentileMillis(sorted, 0.95));
+        summary.put("p99Ms", percentileMillis(sorted, 0.99));
+        summary.put("maxMs", sorted.length == 0 ? 0.0 : toMillis(sorted[sorted.length - 1]));
+        return summary;
+    }
+
+    private static double percentileMillis(long[] sorted, double percentile) {
+        if (sorted.length == 0) {
+            return 0.0;
+        }
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return toMillis(sorted[Math.max(0, index)]);
+    }
+
+    private static double toMillis(long nanos) {
+        return round(nanos / 1_000_000.0);
+    }
+
+    private static double round(double value) {
+        return Math.round(value * 1000.0) / 1000.0;
+    }
+}
@@ -0,0 +1,92 @@
+package com.food.order.loadtest;
+
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Run parameters, read from system properties so they can be passed
+ * straight through from the Maven profile.
+ */
+record LoadTestOptions(
+        Scenario scenario,
+        int ratePerSecond,
+        int durationSeconds,
+        int warmupSeconds,
+        Map<Operation, Integer> mix,
+        int batchSize,
+        int hotOrders,
+        int threads,
+        int exportOrders,
+        String exportFormat,
+        int pollOrders,
+        boolean cache,
+        Server server,
+        Logging logging,
+        String output
+) {
+
+    enum Scenario {
+        // Open-loop weighted mix of all operations
+        MIXED,
+        // Closed-loop threads racing status transitions on a few hot orders
+        CONTENTION,
+        // One large export while the server's retained heap is sampled
+        EXPORT,
+        // Clients polling their orders by id while a few advance: mostly reads
+        POLL
+    }
+
+    enum Server {
+        // Tomcat's worker pool (spring.threads.virtual.enabled=false)
+        PLATFORM,
+        // A virtual thread per request, capped by RequestConcurrencyLimitFilter
+        VIRTUAL
+    }
+
+    enum Logging {
+        // Everything at WARN, so logging does not skew the other scenarios
+        QUIET,
+        // application.yml as shipped: DEBUG and show-sql, synchronous
+        DEFAULT,
+        // prod profile: asynchronous logfmt output, trace detail for sampled orders
+        PROD
+    }
+
+    enum Operation {
+        CREATE,
+        // POST /batch with batchSize orders
+        BATCH,
+        STATUS,
+        CANCEL,
+        QUERY
+    }
+
+    static LoadTestOptions fromSystemProperties() {
+        return new LoadTestOptions(
+                Scenario.valueOf(System.getProperty("loadtest.scenario", "mixed").trim().toUpperCase()),
+                Integer.getInteger("loadtest.rate", 200),
+                Integer.getInteger("loadtest.duration", 60),
+                Integer.getInteger("loadtest.warmup", 10),
+                parseMix(System.getProperty("loadtest.mix", "create:38,batch:2,status:30,cancel:5,query:25")),
+                Integer.getInteger("loadtest.batchSize", 10),
+                Integer.getInteger("loadtest.hotOrders", 8),
+                Integer.getInteger("loadtest.threads", 64),
+                Integer.getInteger("loadtest.exportOrders", 5_000_000),
+                System.getProperty("loadtest.exportFormat", "csv"),
+                Integer.getInteger("loadtest.pollOrders", 500),
+                !"off".equalsIgnoreCase(System.getProperty("loadtest.cache", "on").trim()),
+                Server.valueOf(System.getProperty("loadtest.server", "platform").trim().toUpperCase()),
+                Logging.valueOf(System.getProperty("loadtest.logging", "quiet").trim().toUpperCase()),
+                System.getProperty("loadtest.output", "target/loadtest-result.json"));
+    }
+
+    // "create:40,status:30" -> {CREATE=40, STATUS=30}; weights are relative
+    private static Map<Operation, Integer> parseMix(String mix) {
+        Map<Operation, Integer> weights = new EnumMap<>(Operation.class);
+        for (String entry : mix.split(",")) {
+            String[] parts = entry.trim().split(":");
+            weights.put(Operation.valueOf(parts[0].trim().toUpperCase()), Integer.parseInt(parts[1].trim()));
+        }
+        return weights;
+    }
+}
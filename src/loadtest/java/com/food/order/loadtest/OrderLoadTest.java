@@ -0,0 +1,784 @@
+package com.food.order.loadtest;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.food.order.OrderServiceApplication;
+import com.food.order.dto.OrderRequest;
+import com.food.order.loadtest.LoadTestOptions.Operation;
+import com.food.order.model.OrderStatus;
+import com.food.order.support.H2StreamingSupport;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.consumer.KafkaConsumer;
+import org.apache.kafka.common.serialization.ByteArrayDeserializer;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+
+import javax.sql.DataSource;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.management.ManagementFactory;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+import java.util.stream.Stream;
+
+/**
+ * Self-contained load test: starts an embedded KRaft broker, boots
+ * {@link OrderServiceApplication} against an in-memory H2 database on a
+ * random port, and drives a weighted mix of create / batch-create /
+ * status-update / cancel / query calls at a fixed arrival rate (open
+ * model: latency is measured from each call's scheduled start, so a
+ * stalled server cannot hide its queueing delay). Commit-to-Kafka latency
+ * is measured from the create response, which is only sent after the
+ * commit, to the arrival of the record on {@code order.created}. Single
+ * and batch creation are also compared per order ({@code orderCreation}).
+ *
+ * <p>With {@code -Dloadtest.scenario=contention} it instead runs a fixed
+ * number of threads that race to advance the same few hot orders through
+ * their lifecycle, and then checks every touched order: its final status
+ * must be exactly as many steps along as the transitions that reported
+ * success, otherwise an update was lost or applied twice.
+ *
+ * <p>With {@code -Dloadtest.scenario=export} it seeds a large table and
+ * downloads a single export of it, reporting the server's retained heap
+ * growth over the run.
+ *
+ * <p>With {@code -Dloadtest.scenario=poll} it seeds a set of orders and
+ * then mostly looks them up by id, as clients polling their order would;
+ * run it with {@code -Dloadtest.cache=on} and {@code off} to compare the
+ * lookup p99 with and without the order cache.
+ *
+ * <p>{@code -Dloadtest.server=platform|virtual} runs the service on Tomcat's
+ * platform worker threads or on virtual threads behind the request
+ * concurrency limit.
+ *
+ * <p>{@code -Dloadtest.logging=default|prod} keeps the service's own logging
+ * instead of silencing it, to compare the cost of the shipped configuration
+ * with the {@code prod} logging mode.
+ */
+public final class OrderLoadTest {
+
+    private static final String[] TOPICS = {"order.created", "order.status.changed", "order.cancelled"};
+
+    private static final OrderStatus[] LIFECYCLE = {
+            OrderStatus.PENDING,
+            OrderStatus.CONFIRMED,
+            OrderStatus.PREPARING,
+            OrderStatus.READY_FOR_PICKUP,
+            OrderStatus.OUT_FOR_DELIVERY,
+            OrderStatus.DELIVERED
+    };
+
+    private static final int KNOWN_ORDERS = 4096;
+
+    // Poll scenario: order lookups with the odd status change in between
+    private static final Map<Operation, Integer> POLL_MIX = Map.of(Operation.QUERY, 95, Operation.STATUS, 5);
+    private static final int POLL_SEEDERS = 8;
+
+    private final LoadTestOptions options;
+    private final Map<Operation, Integer> mix;
+    private final String baseUrl;
+    private final HttpClient httpClient;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    private final Map<Operation, LatencyRecorder> recorders = new EnumMap<>(Operation.class);
+    private final LatencyRecorder commitToKafka = new LatencyRecorder();
+
+    // Orders accepted by measured batch requests
+    private final AtomicLong batchOrders = new AtomicLong();
+
+    // Recently created orders, used as targets for the other operations
+    private final AtomicLongArray knownOrders = new AtomicLongArray(KNOWN_ORDERS);
+    private final AtomicLong knownOrderCursor = new AtomicLong();
+
+    // orderId -> index into LIFECYCLE; removed once delivered or cancelled
+    private final Map<Long, Integer> lifecycle = new ConcurrentHashMap<>();
+
+    // orderId -> {create response time, Kafka arrival time}, whichever came first
+    private final Map<String, long[]> deliveries = new ConcurrentHashMap<>();
+
+    private volatile boolean measuring;
+    private volatile boolean consuming = true;
+
+    private OrderLoadTest(LoadTestOptions options, String baseUrl) {
+        this.options = options;
+        this.mix = options.scenario() == LoadTestOptions.Scenario.POLL ? POLL_MIX : options.mix();
+        this.baseUrl = baseUrl;
+        this.httpClient = HttpClient.newBuilder()
+                .executor(Executors.newVirtualThreadPerTaskExecutor())
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        for (Operation operation : Operation.values()) {
+            recorders.put(operation, new LatencyRecorder());
+        }
+    }
+
+    public static void main(String[] args) throws Exception {
+
+        LoadTestOptions options = LoadTestOptions.fromSystemProperties();
+
+        EmbeddedKafkaKraftBroker broker = new EmbeddedKafkaKraftBroker(1, 3, TOPICS);
+        broker.afterPropertiesSet();
+
+        ConfigurableApplicationContext context = null;
+        try {
+            context = new SpringApplicationBuilder(OrderServiceApplication.class, H2StreamingSupport.class)
+                    .run(applicationArguments(options, broker.getBrokersAsString()));
+
+            int port = context.getEnvironment().getRequiredProperty("local.server.port", Integer.class);
+
+            new OrderLoadTest(options, "http://localhost:" + port + "/api/v1/orders")
+                    .run(broker.getBrokersAsString(), context);
+        } finally {
+            if (context != null) {
+                context.close();
+            }
+            broker.destroy();
+        }
+
+        System.exit(0);
+    }
+
+    // Command-line arguments outrank application.yml, unlike default properties
+    private static String[] applicationArguments(LoadTestOptions options, String bootstrapServers) {
+        boolean export = options.scenario() == LoadTestOptions.Scenario.EXPORT;
+
+        Map<String, String> properties = new LinkedHashMap<>();
+        properties.put("server.port", "0");
+        // Export rows live on disk, not in the heap being measured; lazy
+        // execution makes H2 stream results instead of buffering them
+        properties.put("spring.datasource.url", export
+                ? "jdbc:h2:file:./target/loadtest-export;MODE=MySQL;LAZY_QUERY_EXECUTION=TRUE"
+                : "jdbc:h2:mem:orders;MODE=MySQL;DB_CLOSE_DELAY=-1");
+        properties.put("spring.datasource.driver-class-name", "org.h2.Driver");
+        properties.put("spring.datasource.username", "sa");
+        properties.put("spring.datasource.password", "");
+        properties.put("spring.jpa.hibernate.ddl-auto", "create");
+        properties.put("spring.jpa.properties.hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        properties.put("spring.kafka.bootstrap-servers", bootstrapServers);
+        properties.put("spring.threads.virtual.enabled",
+                Boolean.toString(options.server() == LoadTestOptions.Server.VIRTUAL));
+        switch (options.logging()) {
+            case QUIET -> {
+                properties.put("spring.jpa.show-sql", "false");
+                properties.put("logging.level.root", "WARN");
+                properties.put("logging.level.com.food.order", "WARN");
+                properties.put("logging.level.org.hibernate.SQL", "WARN");
+                properties.put("logging.level.org.hibernate.orm.jdbc.bind", "WARN");
+            }
+            case DEFAULT -> {
+                // application.yml as is
+            }
+            case PROD -> properties.put("spring.profiles.active", "prod");
+        }
+        // Also satisfies the prod profile, which has no spool default
+        properties.put("order.spool.directory", "./target/loadtest-spool");
+        // H2 rejects Connector/J's MIN_VALUE streaming fetch size
+        properties.put("order.export.fetch-size", "1000");
+        // No real restaurant, menu or risk services here; the stubs' latencies stand in
+        properties.put("order.validation.stubs.enabled", "true");
+        if (!options.cache()) {
+            // Caffeine evicts immediately at size 0, so every lookup reads the database
+            properties.put("order.cache.maximum-size", "0");
+        }
+
+        return properties.entrySet().stream()
+                .map(entry -> "--" + entry.getKey() + "=" + entry.getValue())
+                .toArray(String[]::new);
+    }
+
+    /* ---------- Run ---------- */
+
+    private void run(String bootstrapServers, ConfigurableApplicationContext context) throws Exception {
+
+        if (options.scenario() == LoadTestOptions.Scenario.CONTENTION) {
+            runContention();
+            return;
+        }
+        if (options.scenario() == LoadTestOptions.Scenario.EXPORT) {
+            runExport(context.getBean(DataSource.class));
+            return;
+        }
+
+        if (options.scenario() == LoadTestOptions.Scenario.POLL) {
+            seedPollOrders();
+        }
+
+        Thread consumer = Thread.ofPlatform().name("loadtest-consumer").start(() -> consume(bootstrapServers));
+
+        long intervalNanos = 1_000_000_000L / options.ratePerSecond();
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        System.out.printf("Load test: %d req/s, %ds warmup, %ds measured, mix=%s, cache %s, %s threads%n",
+                options.ratePerSecond(), options.warmupSeconds(), options.durationSeconds(), mix,
+                options.cache() ? "on" : "off", options.server().name().toLowerCase());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            long next = start;
+            while (next < end) {
+                long now = System.nanoTime();
+                if (next > now) {
+                    LockSupport.parkNanos(next - now);
+                }
+
+                long scheduledAt = next;
+                boolean measured = scheduledAt >= measureFrom;
+                measuring = measured;
+
+                Operation operation = pickOperation();
+                workers.execute(() -> execute(operation, scheduledAt, measured));
+
+                next += intervalNanos;
+            }
+        }
+
+        measuring = false;
+
+        // Give the relay time to flush the tail of the run before reporting
+        Thread.sleep(2_000);
+        consuming = false;
+        consumer.join();
+
+        report(TimeUnit.NANOSECONDS.toMillis(end - measureFrom) / 1000.0, cacheStats(context));
+    }
+
+    private Operation pickOperation() {
+        int total = mix.values().stream().mapToInt(Integer::intValue).sum();
+        int roll = ThreadLocalRandom.current().nextInt(total);
+        for (Map.Entry<Operation, Integer> weight : mix.entrySet()) {
+            roll -= weight.getValue();
+            if (roll < 0) {
+                return weight.getKey();
+            }
+        }
+        return Operation.CREATE;
+    }
+
+    /* ---------- Operations ---------- */
+
+    private void execute(Operation operation, long scheduledAt, boolean measured) {
+
+        boolean creates = operation == Operation.CREATE || operation == Operation.BATCH;
+        Target target = creates ? null : pickTarget(operation);
+        if (!creates && target == null) {
+            // Nothing suitable yet (start of run): seed another order instead
+            operation = Operation.CREATE;
+        }
+
+        LatencyRecorder recorder = recorders.get(operation);
+
+        try {
+            HttpRequest request = buildRequest(operation, target);
+            HttpResponse<String> response = httpClient.send(request, HttpResponse.BodyHandlers.ofString());
+            long latency = System.nanoTime() - scheduledAt;
+
+            if (response.statusCode() / 100 != 2) {
+                if (measured) {
+                    recorder.recordError();
+                }
+                return;
+            }
+
+            if (measured) {
+                recorder.record(latency);
+            }
+
+            if (operation == Operation.CREATE) {
+                created(objectMapper.readTree(response.body()).get("id").asLong());
+            } else if (operation == Operation.BATCH) {
+                int accepted = 0;
+                for (JsonNode result : objectMapper.readTree(response.body()).get("results")) {
+                    if (result.get("success").asBoolean()) {
+                        created(result.get("orderId").asLong());
+                        accepted++;
+                    }
+                }
+                if (measured) {
+                    batchOrders.addAndGet(accepted);
+                }
+            }
+        } catch (IOException e) {
+            if (measured) {
+                recorder.recordError();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void created(long orderId) {
+        remember(orderId);
+        track(Long.toString(orderId), false);
+    }
+
+    private Target pickTarget(Operation operation) {
+
+        long created = Math.min(knownOrderCursor.get(), KNOWN_ORDERS);
+        if (created == 0) {
+            return null;
+        }
+        long orderId = knownOrders.get(ThreadLocalRandom.current().nextInt((int) created));
+
+        return switch (operation) {
+            case STATUS -> {
+                Integer step = lifecycle.computeIfPresent(orderId, (id, current) -> current + 1);
+                if (step == null) {
+                    yield null;
+                }
+                if (step == LIFECYCLE.length - 1) {
+                    lifecycle.remove(orderId);
+                }
+                yield new Target(orderId, LIFECYCLE[step]);
+            }
+            case CANCEL -> lifecycle.remove(orderId) != null ? new Target(orderId, OrderStatus.CANCELLED) : null;
+            default -> new Target(orderId, null);
+        };
+    }
+
+    private HttpRequest buildRequest(Operation operation, Target target) throws IOException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(Duration.ofSeconds(30));
+        return switch (operation) {
+            case CREATE -> builder.uri(URI.create(baseUrl))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(randomOrder())))
+                    .build();
+            case BATCH -> builder.uri(URI.create(baseUrl + "/batch"))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(objectMapper.writeValueAsString(
+                            Map.of("orders", Stream.generate(OrderLoadTest::randomOrder)
+                                    .limit(options.batchSize())
+                                    .toList()))))
+                    .build();
+            case STATUS -> builder.uri(URI.create(baseUrl + "/" + target.orderId() + "/status?status=" + target.status()))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case CANCEL -> builder.uri(URI.create(baseUrl + "/" + target.orderId() + "/cancel"))
+                    .PUT(HttpRequest.BodyPublishers.noBody())
+                    .build();
+            case QUERY -> builder.uri(URI.create(baseUrl + "/" + target.orderId()))
+                    .GET()
+                    .build();
+        };
+    }
+
+    private void remember(long orderId) {
+        lifecycle.put(orderId, 0);
+        long slot = knownOrderCursor.getAndIncrement() % KNOWN_ORDERS;
+        knownOrders.set((int) slot, orderId);
+    }
+
+    private static OrderRequest randomOrder() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int itemCount = 1 + random.nextInt(5);
+        List<OrderRequest.OrderItemRequest> items = new ArrayList<>(itemCount);
+        for (int i = 0; i < itemCount; i++) {
+            items.add(OrderRequest.OrderItemRequest.builder()
+                    .menuItemId(1L + random.nextInt(10_000))
+                    .quantity(1 + random.nextInt(3))
+                    .build());
+        }
+        return OrderRequest.builder()
+                .customerId(1L + random.nextInt(100_000))
+                .restaurantId(1L + random.nextInt(500))
+                .items(items)
+                .deliveryAddress("1 Load Test Lane")
+                .contactPhone("+15550100" + (10 + random.nextInt(90)))
+                .build();
+    }
+
+    // Order an operation applies to, and the status it moves the order to
+    private record Target(long orderId, OrderStatus status) {}
+
+    /* ---------- Poll ---------- */
+
+    // Orders for the pollers to look up, created a few at a time so seeding
+    // does not trip the validation deadline
+    private void seedPollOrders() throws InterruptedException {
+        System.out.printf("Poll test: seeding %d orders%n", options.pollOrders());
+        AtomicInteger failed = new AtomicInteger();
+        try (ExecutorService seeders = Executors.newFixedThreadPool(POLL_SEEDERS)) {
+            for (int i = 0; i < options.pollOrders(); i++) {
+                seeders.execute(() -> {
+                    try {
+                        remember(createOrder());
+                    } catch (IOException e) {
+                        failed.incrementAndGet();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                });
+            }
+        }
+        if (failed.get() > 0) {
+            System.out.printf("Poll test: %d of %d seed orders failed%n", failed.get(), options.pollOrders());
+        }
+    }
+
+    // Hits and misses of the order-by-id cache over the whole run, seeding included
+    private static Map<String, Object> cacheStats(ConfigurableApplicationContext context) {
+        MeterRegistry registry = context.getBean(MeterRegistry.class);
+        double hits = cacheGets(registry, "hit");
+        double misses = cacheGets(registry, "miss");
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", (long) hits);
+        stats.put("misses", (long) misses);
+        stats.put("hitRatio", hits + misses == 0 ? 0.0 : Math.round(hits / (hits + misses) * 1000.0) / 1000.0);
+        return stats;
+    }
+
+    private static double cacheGets(MeterRegistry registry, String result) {
+        FunctionCounter counter = registry.find("cache.gets")
+                .tags("cache", "orderDetails", "result", result)
+                .functionCounter();
+        return counter == null ? 0 : counter.count();
+    }
+
+    /* ---------- Contention ---------- */
+
+    private void runContention() throws Exception {
+
+        int hotCount = options.hotOrders();
+        AtomicLongArray hotOrders = new AtomicLongArray(hotCount);
+        for (int i = 0; i < hotCount; i++) {
+            hotOrders.set(i, createOrder());
+        }
+
+        // orderId -> lifecycle index last reported applied; orderId -> successful transitions
+        Map<Long, AtomicInteger> observed = new ConcurrentHashMap<>();
+        Map<Long, AtomicInteger> applied = new ConcurrentHashMap<>();
+
+        LatencyRecorder appliedLatency = new LatencyRecorder();
+        LatencyRecorder rejectedLatency = new LatencyRecorder();
+
+        long start = System.nanoTime();
+        long measureFrom = start + TimeUnit.SECONDS.toNanos(options.warmupSeconds());
+        long end = measureFrom + TimeUnit.SECONDS.toNanos(options.durationSeconds());
+
+        System.out.printf("Contention test: %d threads, %d hot orders, %ds warmup, %ds measured%n",
+                options.threads(), hotCount, options.warmupSeconds(), options.durationSeconds());
+
+        try (ExecutorService workers = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int t = 0; t < options.threads(); t++) {
+                workers.execute(() -> {
+                    ThreadLocalRandom random = ThreadLocalRandom.current();
+                    while (System.nanoTime() < end) {
+                        int slot = random.nextInt(hotCount);
+                        long orderId = hotOrders.get(slot);
+                        AtomicInteger step = observed.computeIfAbsent(orderId, id -> new AtomicInteger());
+                        int from = step.get();
+                        if (from == LIFECYCLE.length - 1) {
+                            continue;
+                        }
+
+                        long startedAt = System.nanoTime();
+                        boolean measured = startedAt >= measureFrom;
+                        try {
+                            HttpResponse<Void> response = httpClient.send(
+                                    buildRequest(Operation.STATUS, new Target(orderId, LIFECYCLE[from + 1])),
+                                    HttpResponse.BodyHandlers.discarding());
+                            long latency = System.nanoTime() - startedAt;
+
+                            if (response.statusCode() / 100 == 2) {
+                                applied.computeIfAbsent(orderId, id -> new AtomicInteger()).incrementAndGet();
+                                step.compareAndSet(from, from + 1);
+                                if (measured) {
+                                    appliedLatency.record(latency);
+                                }
+                                if (from + 1 == LIFECYCLE.length - 1) {
+                                    hotOrders.compareAndSet(slot, orderId, createOrder());
+                                }
+                            } else if (response.statusCode() == 409) {
+                                if (measured) {
+                                    rejectedLatency.record(latency);
+                                }
+                            } else if (measured) {
+                                appliedLatency.recordError();
+                            }
+                        } catch (IOException e) {
+                            if (measured) {
+                                appliedLatency.recordError();
+                            }
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                            return;
+                        }
+                    }
+                });
+            }
+        }
+
+        // Each success must correspond to exactly one step along the lifecycle
+        List<Long> mismatched = new ArrayList<>();
+        for (Map.Entry<Long, AtomicInteger> entry : applied.entrySet()) {
+            HttpResponse<String> response = httpClient.send(
+                    buildRequest(Operation.QUERY, new Target(entry.getKey(), null)),
+                    HttpResponse.BodyHandlers.ofString());
+            OrderStatus status = OrderStatus.valueOf(objectMapper.readTree(response.body()).get("status").asText());
+            if (List.of(LIFECYCLE).indexOf(status) != entry.getValue().get()) {
+                mismatched.add(entry.getKey());
+            }
+        }
+
+        double measuredSeconds = TimeUnit.NANOSECONDS.toMillis(end - measureFrom) / 1000.0;
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("scenario", options.scenario().name().toLowerCase());
+        settings.put("threads", options.threads());
+        settings.put("hotOrders", hotCount);
+        settings.put("durationSeconds", options.durationSeconds());
+        settings.put("warmupSeconds", options.warmupSeconds());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("finishedAt", Instant.now().toString());
+        result.put("settings", settings);
+        result.put("applied", appliedLatency.summarize(measuredSeconds));
+        result.put("rejected", rejectedLatency.summarize(measuredSeconds));
+        result.put("ordersTouched", applied.size());
+        result.put("mismatchedOrders", mismatched);
+
+        write(result);
+    }
+
+    /* ---------- Export ---------- */
+
+    private static final int SEED_CHUNK = 250_000;
+
+    private static final LocalDateTime SEED_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    /**
+     * Seeds {@code exportOrders} orders with two items each straight into the
+     * database, then downloads one export of all of them while a sampler
+     * records the server's heap after a full GC once a second. Retained heap
+     * must stay flat: growth is reported against the pre-export baseline.
+     */
+    private void runExport(DataSource dataSource) throws Exception {
+
+        int orders = options.exportOrders();
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+
+        System.out.printf("Export test: seeding %,d orders (%,d item rows)%n", orders, orders * 2L);
+        long seedStarted = System.nanoTime();
+        for (int from = 1; from <= orders; from += SEED_CHUNK) {
+            int to = Math.min(orders, from + SEED_CHUNK - 1);
+            jdbc.update("INSERT INTO orders (id, order_number, customer_id, restaurant_id, total_amount, status, "
+                    + "delivery_address, contact_phone, created_at, updated_at, version) "
+                    + "SELECT X, CONCAT('ORD-', X), MOD(X, 100000), MOD(X, 500), 25.50, 'DELIVERED', "
+                    + "'221B Baker Street', '+447700900123', DATEADD('SECOND', X, ?), DATEADD('SECOND', X, ?), 0 "
+                    + "FROM SYSTEM_RANGE(?, ?)", SEED_START, SEED_START, from, to);
+            jdbc.update("INSERT INTO order_items (id, order_id, menu_item_id, quantity, unit_price, total_price) "
+                    + "SELECT X * 2 + K, X, 1000 + K, 1 + K, 8.50, 8.50 * (1 + K) "
+                    + "FROM SYSTEM_RANGE(?, ?), (SELECT X AS K FROM SYSTEM_RANGE(0, 1))", from, to);
+        }
+        System.out.printf("Seeded in %ds%n", TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - seedStarted));
+
+        long baseline = retainedHeap();
+        AtomicLong peak = new AtomicLong(baseline);
+        AtomicInteger samples = new AtomicInteger();
+        AtomicInteger exporting = new AtomicInteger(1);
+        Thread sampler = Thread.ofPlatform().name("loadtest-heap-sampler").start(() -> {
+            while (exporting.get() == 1) {
+                peak.accumulateAndGet(retainedHeap(), Math::max);
+                samples.incrementAndGet();
+                LockSupport.parkNanos(TimeUnit.SECONDS.toNanos(1));
+            }
+        });
+
+        String uri = baseUrl + "/export?format=" + options.exportFormat()
+                + "&from=" + SEED_START + "&to=" + SEED_START.plusSeconds(orders + 1L);
+        long started = System.nanoTime();
+        HttpResponse<InputStream> response = httpClient.send(
+                HttpRequest.newBuilder(URI.create(uri)).GET().build(),
+                HttpResponse.BodyHandlers.ofInputStream());
+
+        long bytes = 0;
+        long lines = 0;
+        try (InputStream body = response.body()) {
+            byte[] buffer = new byte[64 * 1024];
+            int read;
+            while ((read = body.read(buffer)) != -1) {
+                bytes += read;
+                for (int i = 0; i < read; i++) {
+                    if (buffer[i] == '\n') {
+                        lines++;
+                    }
+                }
+            }
+        }
+        double seconds = (System.nanoTime() - started) / 1e9;
+        exporting.set(0);
+        sampler.join();
+
+        long growth = peak.get() - baseline;
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("scenario", options.scenario().name().toLowerCase());
+        settings.put("exportOrders", orders);
+        settings.put("exportFormat", options.exportFormat());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("finishedAt", Instant.now().toString());
+        result.put("settings", settings);
+        result.put("httpStatus", response.statusCode());
+        result.put("lines", lines);
+        result.put("bytes", bytes);
+        result.put("seconds", Math.round(seconds * 1000.0) / 1000.0);
+        result.put("linesPerSec", Math.round(lines / seconds));
+        result.put("heapSamples", samples.get());
+        result.put("baselineHeapMb", baseline / (1024 * 1024));
+        result.put("peakHeapMb", peak.get() / (1024 * 1024));
+        result.put("heapGrowthMb", growth / (1024 * 1024));
+
+        write(result);
+    }
+
+    // Heap still in use after a full collection, i.e. what the export holds on to
+    private static long retainedHeap() {
+        System.gc();
+        return ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+    }
+
+    private long createOrder() throws IOException, InterruptedException {
+        HttpResponse<String> response = httpClient.send(buildRequest(Operation.CREATE, null),
+                HttpResponse.BodyHandlers.ofString());
+        if (response.statusCode() / 100 != 2) {
+            throw new IOException("Order creation failed with HTTP " + response.statusCode());
+        }
+        return objectMapper.readTree(response.body()).get("id").asLong();
+    }
+
+    /* ---------- Commit-to-Kafka latency ---------- */
+
+    private void consume(String bootstrapServers) {
+        Map<String, Object> config = Map.of(
+                ConsumerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers,
+                ConsumerConfig.GROUP_ID_CONFIG, "order-loadtest",
+                ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest",
+                ConsumerConfig.KEY_DESERIALIZER_CLASS_CONFIG, StringDeserializer.class,
+                ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ByteArrayDeserializer.class);
+
+        try (KafkaConsumer<String, byte[]> consumer = new KafkaConsumer<>(config)) {
+            consumer.subscribe(List.of("order.created"));
+            while (consuming) {
+                for (ConsumerRecord<String, byte[]> record : consumer.poll(Duration.ofMillis(100))) {
+                    track(record.key(), true);
+                }
+            }
+        }
+    }
+
+    private void track(String orderId, boolean delivered) {
+        long now = System.nanoTime();
+        deliveries.compute(orderId, (id, seen) -> {
+            if (seen == null) {
+                return delivered ? new long[]{0, now} : new long[]{now, 0};
+            }
+            long respondedAt = delivered ? seen[0] : now;
+            long deliveredAt = delivered ? now : seen[1];
+            if (measuring) {
+                commitToKafka.record(Math.max(0, deliveredAt - respondedAt));
+            }
+            return null;
+        });
+    }
+
+    /* ---------- Report ---------- */
+
+    private void report(double measuredSeconds, Map<String, Object> cacheStats) throws IOException {
+
+        Map<String, Object> endpoints = new LinkedHashMap<>();
+        long totalRequests = 0;
+        for (Map.Entry<Operation, LatencyRecorder> entry : recorders.entrySet()) {
+            Map<String, Object> summary = entry.getValue().summarize(measuredSeconds);
+            totalRequests += ((Number) summary.get("count")).longValue();
+            endpoints.put(entry.getKey().name().toLowerCase(), summary);
+        }
+
+        Map<String, Object> settings = new LinkedHashMap<>();
+        settings.put("scenario", options.scenario().name().toLowerCase());
+        settings.put("ratePerSecond", options.ratePerSecond());
+        settings.put("durationSeconds", options.durationSeconds());
+        settings.put("warmupSeconds", options.warmupSeconds());
+        settings.put("mix", mix);
+        settings.put("batchSize", options.batchSize());
+        settings.put("cache", options.cache() ? "on" : "off");
+        settings.put("server", options.server().name().toLowerCase());
+        settings.put("logging", options.logging().name().toLowerCase());
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("finishedAt", Instant.now().toString());
+        result.put("settings", settings);
+        result.put("throughputPerSec", Math.round(totalRequests / measuredSeconds * 1000.0) / 1000.0);
+        result.put("endpoints", endpoints);
+        result.put("orderCreation", orderCreation(endpoints, measuredSeconds));
+        result.put("orderCache", cacheStats);
+        result.put("commitToKafka", commitToKafka.summarize(measuredSeconds));
+
+        write(result);
+    }
+
+    // Single vs batch creation per order: throughput and median latency
+    @SuppressWarnings("unchecked")
+    private Map<String, Object> orderCreation(Map<String, Object> endpoints, double measuredSeconds) {
+        Map<String, Object> create = (Map<String, Object>) endpoints.get("create");
+        Map<String, Object> batch = (Map<String, Object>) endpoints.get("batch");
+
+        Map<String, Object> single = new LinkedHashMap<>();
+        single.put("ordersPerSec", create.get("throughputPerSec"));
+        single.put("p50MsPerOrder", create.get("p50Ms"));
+
+        long batchRequests = ((Number) batch.get("count")).longValue();
+        double batchP50 = ((Number) batch.get("p50Ms")).doubleValue();
+        Map<String, Object> batched = new LinkedHashMap<>();
+        batched.put("batchSize", options.batchSize());
+        batched.put("ordersPerSec", Math.round(batchOrders.get() / measuredSeconds * 1000.0) / 1000.0);
+        batched.put("p50MsPerOrder", batchRequests == 0
+                ? 0.0
+                : Math.round(batchP50 / options.batchSize() * 1000.0) / 1000.0);
+
+        Map<String, Object> comparison = new LinkedHashMap<>();
+        comparison.put("single", single);
+        comparison.put("batch", batched);
+        return comparison;
+    }
+
+    private void write(Map<String, Object> result) throws IOException {
+        ObjectMapper writer = objectMapper.copy().enable(SerializationFeature.INDENT_OUTPUT);
+        File output = new File(options.output());
+        if (output.getParentFile() != null) {
+            output.getParentFile().mkdirs();
+        }
+        writer.writeValue(output, result);
+
+        System.out.println(writer.writeValueAsString(result));
+        System.out.println("Results written to " + output.getAbsolutePath());
+    }
+}
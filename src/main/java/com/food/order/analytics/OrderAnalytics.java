@@ -0,0 +1,293 @@
+package com.food.order.analytics;
+
+import com.food.order.dto.AnalyticsWindow;
+import com.food.order.dto.OrderSummary;
+import com.food.order.dto.RestaurantAnalytics;
+import com.food.order.model.Order;
+import com.food.order.model.OrderStatus;
+import com.food.order.repository.ArchivedOrderRepository;
+import com.food.order.repository.OrderRepository;
+import com.food.order.service.OrderService.OrderCancelledEvent;
+import com.food.order.service.OrderService.OrderCreatedEvent;
+import com.food.order.service.OrderService.OrderStatusBatchChangedEvent;
+import com.food.order.service.OrderService.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+/**
+ * Per-restaurant order count, revenue and cancellations in minute, hour
+ * and day buckets, fed by the committed order events. Replaces range
+ * scans over the orders tables for finance and ops dashboards.
+ *
+ * <p>Timestamps are bucketed as local date-times, the way they are
+ * stored, so day buckets start at local midnight.
+ *
+ * <p>Events only arrive from transactions on this instance, so the windows
+ * are rebuilt from the database every {@code order.analytics.reconcile-interval-ms};
+ * until then orders placed or cancelled through other instances are missing.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderAnalytics implements SmartInitializingSingleton {
+
+    // Sliding windows served by getAnalytics, each summed from one resolution
+    private static final List<Sliding> SLIDING = List.of(
+            new Sliding("last-hour", WindowResolution.MINUTE, 60),
+            new Sliding("last-24-hours", WindowResolution.HOUR, 24),
+            new Sliding("last-7-days", WindowResolution.DAY, 7),
+            new Sliding("last-30-days", WindowResolution.DAY, 30));
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.analytics.rebuild-on-startup:true}")
+    private boolean rebuildOnStartup;
+
+    // Replaced wholesale by rebuild(); live writes hold the read lock, the swap the write lock
+    private final ReadWriteLock swap = new ReentrantReadWriteLock();
+    private volatile Map<Long, RestaurantWindows> restaurants = new ConcurrentHashMap<>();
+
+    // Live writes made while a rebuild reads the database; guarded by swap
+    private Queue<Recorded> duringRebuild;
+
+    /* ---------- Rebuild ---------- */
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Gauge.builder("order.analytics.restaurants", this, analytics -> analytics.restaurants.size())
+                .description("Restaurants with analytics windows in memory")
+                .register(meterRegistry);
+        if (rebuildOnStartup) {
+            rebuild();
+        }
+    }
+
+    /**
+     * Replays every order created within the longest retention from both
+     * tiers into fresh windows, then swaps them in. Events committed while
+     * the database is read are also applied to the fresh windows before the
+     * swap, so none is lost; one committed just before the read started may
+     * be counted twice until the next rebuild.
+     */
+    @Scheduled(initialDelayString = "${order.analytics.reconcile-interval-ms:900000}",
+               fixedDelayString = "${order.analytics.reconcile-interval-ms:900000}")
+    public synchronized void rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime now = LocalDateTime.now();
+        WindowResolution longest = WindowResolution.DAY;
+        LocalDateTime since = startOf(longest, longest.bucketOf(epochSecond(now)) - longest.buckets() + 1);
+
+        Map<Long, RestaurantWindows> rebuilt = new ConcurrentHashMap<>();
+        Queue<Recorded> live = new ConcurrentLinkedQueue<>();
+        AtomicLong replayed = new AtomicLong();
+        boolean complete = false;
+
+        swap.writeLock().lock();
+        try {
+            duringRebuild = live;
+        } finally {
+            swap.writeLock().unlock();
+        }
+
+        try {
+            TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+            readOnly.setReadOnly(true);
+            readOnly.executeWithoutResult(status -> {
+                try (Stream<OrderSummary> hot = orderRepository.streamSummariesCreatedSince(since)) {
+                    hot.forEach(order -> replay(rebuilt, order, replayed));
+                }
+                try (Stream<OrderSummary> archived = archivedOrderRepository.streamSummariesCreatedSince(since)) {
+                    archived.forEach(order -> replay(rebuilt, order, replayed));
+                }
+            });
+            complete = true;
+        } finally {
+            swap.writeLock().lock();
+            try {
+                if (complete) {
+                    live.forEach(write -> write.applyTo(rebuilt));
+                    restaurants = rebuilt;
+                }
+                duringRebuild = null;
+            } finally {
+                swap.writeLock().unlock();
+            }
+        }
+
+        log.info("Order analytics rebuilt from {} orders since {} in {} ms | restaurants={}",
+                replayed.get(), since, (System.nanoTime() - started) / 1_000_000, rebuilt.size());
+    }
+
+    private static void replay(Map<Long, RestaurantWindows> target, OrderSummary order, AtomicLong replayed) {
+        long cents = cents(order.totalAmount());
+        new Recorded(order.restaurantId(), epochSecond(order.createdAt()), 1, cents, 0, 0).applyTo(target);
+        if (order.status() == OrderStatus.CANCELLED) {
+            new Recorded(order.restaurantId(), epochSecond(order.updatedAt()), 0, 0, 1, cents).applyTo(target);
+        }
+        replayed.incrementAndGet();
+    }
+
+    /* ---------- Reads ---------- */
+
+    public RestaurantAnalytics getAnalytics(Long restaurantId) {
+        RestaurantWindows windows = restaurants.get(restaurantId);
+        long now = epochSecond(LocalDateTime.now());
+
+        Map<String, AnalyticsWindow> result = new LinkedHashMap<>();
+        for (Sliding sliding : SLIDING) {
+            long to = sliding.resolution().bucketOf(now);
+            long from = to - sliding.buckets() + 1;
+            long[] totals = windows == null ? new long[WindowRing.FIELDS] : windows.totals(sliding.resolution(), from, to);
+            result.put(sliding.name(), window(sliding.resolution(), from, to, totals));
+        }
+        return new RestaurantAnalytics(restaurantId, result);
+    }
+
+    public RestaurantAnalytics.Series getSeries(Long restaurantId, WindowResolution resolution) {
+        RestaurantWindows windows = restaurants.get(restaurantId);
+        long to = resolution.bucketOf(epochSecond(LocalDateTime.now()));
+        long from = to - resolution.buckets() + 1;
+
+        long[][] series = windows == null
+                ? new long[resolution.buckets()][WindowRing.FIELDS]
+                : windows.series(resolution, from, to);
+
+        List<AnalyticsWindow> buckets = new ArrayList<>(series.length);
+        for (int i = 0; i < series.length; i++) {
+            buckets.add(window(resolution, from + i, from + i, series[i]));
+        }
+        return new RestaurantAnalytics.Series(restaurantId, resolution, buckets);
+    }
+
+    private static AnalyticsWindow window(WindowResolution resolution, long fromBucket, long toBucket, long[] totals) {
+        long orders = totals[WindowRing.ORDERS];
+        long cancellations = totals[WindowRing.CANCELLATIONS];
+        return new AnalyticsWindow(
+                startOf(resolution, fromBucket),
+                startOf(resolution, toBucket + 1),
+                orders,
+                BigDecimal.valueOf(totals[WindowRing.REVENUE_CENTS], 2),
+                cancellations,
+                BigDecimal.valueOf(totals[WindowRing.CANCELLED_REVENUE_CENTS], 2),
+                orders == 0 ? 0.0 : (double) cancellations / orders);
+    }
+
+    /* ---------- Domain events ---------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        Order order = event.order();
+        record(order.getRestaurantId(), order.getCreatedAt(), 1, cents(order.getTotalAmount()), 0, 0);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        recordCancellation(event.order());
+    }
+
+    // Plain status updates may also cancel
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        if (event.order().getStatus() == OrderStatus.CANCELLED) {
+            recordCancellation(event.order());
+        }
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+        event.changes().forEach(this::onOrderStatusChanged);
+    }
+
+    private void recordCancellation(Order order) {
+        record(order.getRestaurantId(), order.getUpdatedAt(), 0, 0, 1, cents(order.getTotalAmount()));
+    }
+
+    private void record(Long restaurantId, LocalDateTime at, long orders, long revenueCents,
+                        long cancellations, long cancelledRevenueCents) {
+        Recorded write = new Recorded(restaurantId, epochSecond(at), orders, revenueCents,
+                cancellations, cancelledRevenueCents);
+        swap.readLock().lock();
+        try {
+            write.applyTo(restaurants);
+            if (duringRebuild != null) {
+                duringRebuild.add(write);
+            }
+        } finally {
+            swap.readLock().unlock();
+        }
+    }
+
+    /* ---------- Retention ---------- */
+
+    // Drops restaurants whose every bucket has rolled off
+    @Scheduled(fixedDelayString = "${order.analytics.prune-interval-ms:3600000}")
+    public void prune() {
+        long now = epochSecond(LocalDateTime.now());
+        Map<Long, RestaurantWindows> current = restaurants;
+        int before = current.size();
+        for (Long restaurantId : current.keySet()) {
+            current.computeIfPresent(restaurantId, (id, windows) -> windows.isExpired(now) ? null : windows);
+        }
+        if (current.size() < before) {
+            log.debug("Pruned {} idle restaurants from order analytics", before - current.size());
+        }
+    }
+
+    /* ---------- Helpers ---------- */
+
+    private record Sliding(String name, WindowResolution resolution, int buckets) {}
+
+    private record Recorded(Long restaurantId, long epochSecond, long orders, long revenueCents,
+                            long cancellations, long cancelledRevenueCents) {
+
+        // compute() keeps a write from landing on windows that prune() just removed
+        void applyTo(Map<Long, RestaurantWindows> target) {
+            target.compute(restaurantId, (id, windows) -> {
+                RestaurantWindows updated = windows != null ? windows : new RestaurantWindows();
+                updated.record(epochSecond, orders, revenueCents, cancellations, cancelledRevenueCents);
+                return updated;
+            });
+        }
+    }
+
+    private static long epochSecond(LocalDateTime at) {
+        return at.toEpochSecond(ZoneOffset.UTC);
+    }
+
+    private static LocalDateTime startOf(WindowResolution resolution, long bucket) {
+        return LocalDateTime.ofEpochSecond(bucket * resolution.bucketSeconds(), 0, ZoneOffset.UTC);
+    }
+
+    private static long cents(BigDecimal amount) {
+        return amount == null ? 0 : amount.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+}
@@ -0,0 +1,54 @@
+package com.food.order.analytics;
+
+/**
+ * Every resolution's {@link WindowRing} for one restaurant. Writers and
+ * readers of a restaurant serialize on this object; different restaurants
+ * never contend.
+ */
+final class RestaurantWindows {
+
+    private static final WindowResolution[] RESOLUTIONS = WindowResolution.values();
+
+    private final WindowRing[] rings = new WindowRing[RESOLUTIONS.length];
+
+    RestaurantWindows() {
+        for (WindowResolution resolution : RESOLUTIONS) {
+            rings[resolution.ordinal()] = new WindowRing(resolution.buckets());
+        }
+    }
+
+    synchronized void record(long epochSecond, long orders, long revenueCents,
+                             long cancellations, long cancelledRevenueCents) {
+        for (WindowResolution resolution : RESOLUTIONS) {
+            rings[resolution.ordinal()].add(resolution.bucketOf(epochSecond),
+                    orders, revenueCents, cancellations, cancelledRevenueCents);
+        }
+    }
+
+    synchronized long[] totals(WindowResolution resolution, long fromBucket, long toBucket) {
+        long[] totals = new long[WindowRing.FIELDS];
+        rings[resolution.ordinal()].sum(fromBucket, toBucket, totals);
+        return totals;
+    }
+
+    // One row of counters per bucket in [fromBucket, toBucket]
+    synchronized long[][] series(WindowResolution resolution, long fromBucket, long toBucket) {
+        WindowRing ring = rings[resolution.ordinal()];
+        long[][] series = new long[(int) (toBucket - fromBucket + 1)][WindowRing.FIELDS];
+        for (long bucket = fromBucket; bucket <= toBucket; bucket++) {
+            ring.sum(bucket, bucket, series[(int) (bucket - fromBucket)]);
+        }
+        return series;
+    }
+
+    // True once even the longest resolution holds nothing newer than its retention
+    synchronized boolean isExpired(long epochSecond) {
+        for (WindowResolution resolution : RESOLUTIONS) {
+            long latest = rings[resolution.ordinal()].latest();
+            if (latest != Long.MIN_VALUE && latest > resolution.bucketOf(epochSecond) - resolution.buckets()) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
@@ -0,0 +1,39 @@
+package com.food.order.analytics;
+
+import java.time.Duration;
+
+/**
+ * Tumbling bucket sizes kept per restaurant, and how many buckets of each
+ * are retained. Older buckets are overwritten in place, so memory per
+ * restaurant is fixed: (60 + 48 + 90) buckets of four longs.
+ */
+public enum WindowResolution {
+
+    MINUTE(Duration.ofMinutes(1), 60),
+    HOUR(Duration.ofHours(1), 48),
+    DAY(Duration.ofDays(1), 90);
+
+    private final long bucketSeconds;
+    private final int buckets;
+
+    WindowResolution(Duration bucket, int buckets) {
+        this.bucketSeconds = bucket.toSeconds();
+        this.buckets = buckets;
+    }
+
+    public long bucketSeconds() {
+        return bucketSeconds;
+    }
+
+    public int buckets() {
+        return buckets;
+    }
+
+    public long bucketOf(long epochSecond) {
+        return Math.floorDiv(epochSecond, bucketSeconds);
+    }
+
+    public Duration retention() {
+        return Duration.ofSeconds(bucketSeconds * buckets);
+    }
+}
@@ -0,0 +1,71 @@
+package com.food.order.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Fixed ring of tumbling buckets for one resolution. Each slot remembers
+ * which bucket it holds, so a slot left over from a previous lap is reset
+ * the first time it is written again and skipped by reads. Counters are
+ * interleaved in one {@code long[]} so a bucket's values share a cache line.
+ *
+ * <p>Not thread-safe; {@link RestaurantWindows} guards it.
+ */
+final class WindowRing {
+
+    static final int ORDERS = 0;
+    static final int REVENUE_CENTS = 1;
+    static final int CANCELLATIONS = 2;
+    static final int CANCELLED_REVENUE_CENTS = 3;
+    static final int FIELDS = 4;
+
+    private static final long EMPTY = Long.MIN_VALUE;
+
+    private final int size;
+    private final long[] bucketOfSlot;
+    private final long[] counters;
+    private long latest = EMPTY;
+
+    WindowRing(int size) {
+        this.size = size;
+        this.bucketOfSlot = new long[size];
+        this.counters = new long[size * FIELDS];
+        Arrays.fill(bucketOfSlot, EMPTY);
+    }
+
+    // Adds to one bucket; buckets that already fell out of the ring are ignored
+    void add(long bucket, long orders, long revenueCents, long cancellations, long cancelledRevenueCents) {
+        if (latest != EMPTY && bucket <= latest - size) {
+            return;
+        }
+        latest = latest == EMPTY ? bucket : Math.max(latest, bucket);
+
+        int slot = (int) Math.floorMod(bucket, (long) size);
+        int base = slot * FIELDS;
+        if (bucketOfSlot[slot] != bucket) {
+            bucketOfSlot[slot] = bucket;
+            Arrays.fill(counters, base, base + FIELDS, 0L);
+        }
+        counters[base + ORDERS] += orders;
+        counters[base + REVENUE_CENTS] += revenueCents;
+        counters[base + CANCELLATIONS] += cancellations;
+        counters[base + CANCELLED_REVENUE_CENTS] += cancelledRevenueCents;
+    }
+
+    // Adds buckets [from, to] into {@code into}; only the last size buckets exist
+    void sum(long from, long to, long[] into) {
+        for (long bucket = Math.max(from, to - size + 1); bucket <= to; bucket++) {
+            int slot = (int) Math.floorMod(bucket, (long) size);
+            if (bucketOfSlot[slot] == bucket) {
+                int base = slot * FIELDS;
+                for (int field = 0; field < FIELDS; field++) {
+                    into[field] += counters[base + field];
+                }
+            }
+        }
+    }
+
+    // Latest bucket written, or Long.MIN_VALUE when empty
+    long latest() {
+        return latest;
+    }
+}
@@ -0,0 +1,149 @@
+package com.food.order.archive;
+
+import com.food.order.kafka.RelayLeadership;
+import com.food.order.model.OrderStatus;
+import com.food.order.repository.ArchivedOrderRepository;
+import com.food.order.repository.OrderRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves finished orders older than {@code order.archive.min-age} from the
+ * hot tables into {@code orders_archive} / {@code order_items_archive}.
+ * Work is split into small chunks picked by an id keyset, each copied and
+ * deleted in its own short transaction, so row locks are held only for one
+ * chunk and a failed run simply resumes from the start next time.
+ *
+ * <p>A run moves at most {@code order.archive.max-chunks-per-run} chunks and
+ * leaves the rest of a backlog to later runs, so it never holds a scheduler
+ * thread for long. Only the holder of the {@link RelayLeadership} lease
+ * archives; concurrent runs on several instances would copy the same rows
+ * and collide on the archive primary keys.
+ */
+@Component
+@ConditionalOnProperty(name = "order.archive.enabled", havingValue = "true", matchIfMissing = true)
+@RequiredArgsConstructor
+@Slf4j
+public class OrderArchiver {
+
+    private static final Set<OrderStatus> ARCHIVABLE = EnumSet.of(OrderStatus.DELIVERED, OrderStatus.CANCELLED);
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final RelayLeadership relayLeadership;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.archive.min-age:30d}")
+    private Duration minAge;
+
+    @Value("${order.archive.chunk-size:500}")
+    private int chunkSize;
+
+    @Value("${order.archive.pause-between-chunks-ms:50}")
+    private long pauseBetweenChunksMs;
+
+    @Value("${order.archive.max-chunks-per-run:20}")
+    private int maxChunksPerRun;
+
+    private final AtomicLong hotRows = new AtomicLong();
+
+    private Counter archivedOrders;
+    private Counter archivedItems;
+    private Timer chunkTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        archivedOrders = Counter.builder("order.archive.orders")
+                .description("Orders moved to the archive tables")
+                .register(meterRegistry);
+        archivedItems = Counter.builder("order.archive.items")
+                .description("Order items moved to the archive tables")
+                .register(meterRegistry);
+        chunkTimer = Timer.builder("order.archive.chunk")
+                .description("Time to copy and delete one archive chunk")
+                .register(meterRegistry);
+        Gauge.builder("order.hot.rows", hotRows, AtomicLong::get)
+                .description("Rows in the orders table at the end of the last archiver run")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(initialDelayString = "${order.archive.interval-ms:600000}",
+               fixedDelayString = "${order.archive.interval-ms:600000}")
+    public void archive() {
+
+        LocalDateTime cutoff = LocalDateTime.now().minus(minAge);
+        long afterId = 0;
+        long total = 0;
+
+        for (int chunk = 0; chunk < maxChunksPerRun; chunk++) {
+            // Checked per chunk, so a run stops soon after the lease moves on
+            if (!relayLeadership.holdLease()) {
+                break;
+            }
+            List<Long> ids = orderRepository.findIdsToArchive(afterId, ARCHIVABLE, cutoff, Limit.of(chunkSize));
+            if (ids.isEmpty()) {
+                break;
+            }
+
+            Timer.Sample sample = Timer.start(meterRegistry);
+            transactionTemplate.executeWithoutResult(status -> moveChunk(ids));
+            sample.stop(chunkTimer);
+
+            total += ids.size();
+            afterId = ids.get(ids.size() - 1);
+
+            if (ids.size() < chunkSize || !pause()) {
+                break;
+            }
+        }
+
+        hotRows.set(orderRepository.count());
+
+        if (total > 0) {
+            log.info("Archived {} orders updated before {} | hotRows={}", total, cutoff, hotRows.get());
+        }
+    }
+
+    // Finished orders never change again, so the chunk needs no extra locking
+    private void moveChunk(List<Long> ids) {
+        LocalDateTime now = LocalDateTime.now();
+
+        int orders = archivedOrderRepository.copyOrders(ids, now);
+        int items = archivedOrderRepository.copyItems(ids);
+        archivedOrderRepository.deleteHotItems(ids);
+        archivedOrderRepository.deleteHotOrders(ids);
+
+        archivedOrders.increment(orders);
+        archivedItems.increment(items);
+    }
+
+    // Gives other transactions a turn between chunks
+    private boolean pause() {
+        try {
+            Thread.sleep(pauseBetweenChunksMs);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+}
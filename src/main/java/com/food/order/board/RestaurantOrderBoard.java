@@ -0,0 +1,192 @@
+package com.food.order.board;
+
+import com.food.order.dto.OrderSummary;
+import com.food.order.dto.RestaurantBoard;
+import com.food.order.mapper.OrderMapper;
+import com.food.order.model.Order;
+import com.food.order.model.OrderStatus;
+import com.food.order.repository.OrderRepository;
+import com.food.order.service.OrderService.OrderCancelledEvent;
+import com.food.order.service.OrderService.OrderCreatedEvent;
+import com.food.order.service.OrderService.OrderStatusBatchChangedEvent;
+import com.food.order.service.OrderService.OrderStatusChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory materialized view of non-terminal orders per restaurant, kept
+ * current from the order domain events after commit. Each restaurant has
+ * its own concurrent map, so a status change only touches one bin of one
+ * map and readers never block writers.
+ *
+ * <p>Events only arrive from transactions on this instance, so orders
+ * created or finished through other instances reach the board through a
+ * periodic reconcile against the active orders in the database
+ * ({@code order.board.reconcile-interval-ms}).
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class RestaurantOrderBoard implements SmartInitializingSingleton {
+
+    private static final List<OrderStatus> ACTIVE_STATUSES = Arrays.stream(OrderStatus.values())
+            .filter(status -> !status.isTerminal())
+            .toList();
+
+    private final OrderRepository orderRepository;
+    private final OrderMapper orderMapper;
+
+    // restaurantId -> orderId -> latest known state
+    private final Map<Long, Map<Long, OrderSummary>> boards = new ConcurrentHashMap<>();
+
+    // Recently finished orders; stops an event that commits earlier but is
+    // delivered later from putting a finished order back on the board.
+    private final Cache<Long, LocalDateTime> finished = Caffeine.newBuilder()
+            .expireAfterWrite(Duration.ofMinutes(10))
+            .maximumSize(100_000)
+            .build();
+
+    /* ---------- Seeding and reconciliation ---------- */
+
+    // Runs before the web server starts accepting requests
+    @Override
+    public void afterSingletonsInstantiated() {
+        log.info("Restaurant order board seeded with {} active orders", reconcile());
+    }
+
+    /**
+     * Merges the active orders from the database into the board and drops
+     * entries the database no longer lists as active, e.g. orders finished
+     * through another instance. Entries updated after the query started are
+     * kept either way; the next run settles them. Returns the active count.
+     */
+    @Scheduled(initialDelayString = "${order.board.reconcile-interval-ms:60000}",
+               fixedDelayString = "${order.board.reconcile-interval-ms:60000}")
+    public int reconcile() {
+
+        LocalDateTime startedAt = LocalDateTime.now();
+        List<OrderSummary> active = orderRepository.findSummariesByStatusIn(ACTIVE_STATUSES);
+
+        Set<Long> activeIds = new HashSet<>(active.size() * 2);
+        for (OrderSummary order : active) {
+            activeIds.add(order.id());
+            apply(order);
+        }
+
+        int dropped = 0;
+        for (Map<Long, OrderSummary> board : boards.values()) {
+            for (OrderSummary order : board.values()) {
+                if (!activeIds.contains(order.id()) && !order.updatedAt().isAfter(startedAt)
+                        && board.remove(order.id(), order)) {
+                    dropped++;
+                }
+            }
+        }
+        if (dropped > 0) {
+            log.debug("Restaurant order board reconciled | active={} | dropped={}", active.size(), dropped);
+        }
+        return active.size();
+    }
+
+    /* ---------- Reads ---------- */
+
+    public RestaurantBoard getBoard(Long restaurantId) {
+
+        Map<OrderStatus, List<OrderSummary>> grouped = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : ACTIVE_STATUSES) {
+            grouped.put(status, new ArrayList<>());
+        }
+
+        for (OrderSummary order : boards.getOrDefault(restaurantId, Map.of()).values()) {
+            grouped.get(order.status()).add(order);
+        }
+
+        Map<OrderStatus, Integer> counts = new EnumMap<>(OrderStatus.class);
+        grouped.forEach((status, orders) -> {
+            orders.sort(Comparator.comparing(OrderSummary::createdAt));
+            counts.put(status, orders.size());
+        });
+
+        return new RestaurantBoard(restaurantId, grouped, counts);
+    }
+
+    public Map<OrderStatus, Integer> getCounts(Long restaurantId) {
+
+        int[] counts = new int[OrderStatus.values().length];
+        for (OrderSummary order : boards.getOrDefault(restaurantId, Map.of()).values()) {
+            counts[order.status().ordinal()]++;
+        }
+
+        Map<OrderStatus, Integer> result = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : ACTIVE_STATUSES) {
+            result.put(status, counts[status.ordinal()]);
+        }
+        return result;
+    }
+
+    /* ---------- Domain events ---------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        apply(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        apply(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        apply(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+        event.changes().forEach(change -> apply(change.order()));
+    }
+
+    private void apply(Order order) {
+        apply(orderMapper.toOrderSummary(order));
+    }
+
+    private void apply(OrderSummary order) {
+
+        Map<Long, OrderSummary> board =
+                boards.computeIfAbsent(order.restaurantId(), id -> new ConcurrentHashMap<>());
+
+        if (order.status().isTerminal()) {
+            finished.asMap().merge(order.id(), order.updatedAt(),
+                    (current, candidate) -> candidate.isBefore(current) ? current : candidate);
+            board.remove(order.id());
+            return;
+        }
+
+        LocalDateTime finishedAt = finished.getIfPresent(order.id());
+        if (finishedAt != null && !order.updatedAt().isAfter(finishedAt)) {
+            return;
+        }
+
+        board.merge(order.id(), order,
+                (current, candidate) -> candidate.updatedAt().isBefore(current.updatedAt()) ? current : candidate);
+    }
+}
@@ -0,0 +1,110 @@
+package com.food.order.cache;
+
+import com.food.order.dto.OrderDetails;
+import com.food.order.model.Order;
+import com.food.order.service.OrderService.OrderCancelledEvent;
+import com.food.order.service.OrderService.OrderStatusBatchChangedEvent;
+import com.food.order.service.OrderService.OrderStatusChangedEvent;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.Optional;
+import java.util.function.Function;
+
+/**
+ * Size- and TTL-bounded cache of {@link OrderDetails} for the polled
+ * order-by-id endpoint. Status writes are applied to cached entries after
+ * commit, and entries are only ever replaced by newer versions, so a reader
+ * that loaded a pre-commit row cannot overwrite the committed state.
+ */
+@Component
+@Slf4j
+public class OrderDetailsCache {
+
+    private final Cache<Long, OrderDetails> orders;
+
+    // updatedAt of the last committed write per order; guards against a slow
+    // reader caching a row it loaded before that write committed.
+    private final Cache<Long, LocalDateTime> lastWrites;
+
+    public OrderDetailsCache(MeterRegistry meterRegistry,
+                             @Value("${order.cache.maximum-size:10000}") long maximumSize,
+                             @Value("${order.cache.ttl:30s}") Duration ttl) {
+
+        this.orders = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .recordStats()
+                .build();
+        this.lastWrites = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(ttl)
+                .build();
+
+        // cache.gets{result=hit|miss}, cache.evictions, cache.size, ...
+        CaffeineCacheMetrics.monitor(meterRegistry, orders, "orderDetails");
+    }
+
+    public Optional<OrderDetails> get(Long orderId, Function<Long, Optional<OrderDetails>> loader) {
+
+        OrderDetails cached = orders.getIfPresent(orderId);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+
+        Optional<OrderDetails> loaded = loader.apply(orderId);
+        loaded.ifPresent(this::putIfNewer);
+        return loaded;
+    }
+
+    public void putIfNewer(OrderDetails details) {
+
+        LocalDateTime lastWrite = lastWrites.getIfPresent(details.id());
+        if (lastWrite != null && details.updatedAt().isBefore(lastWrite)) {
+            log.debug("Skipping stale cache fill for order {}", details.id());
+            return;
+        }
+
+        orders.asMap().merge(details.id(), details,
+                (current, candidate) -> candidate.updatedAt().isBefore(current.updatedAt()) ? current : candidate);
+    }
+
+    /* ---------- Write-through after commit ---------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        applyStatus(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        applyStatus(event.order());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+        event.changes().forEach(change -> applyStatus(change.order()));
+    }
+
+    private void applyStatus(Order order) {
+
+        lastWrites.asMap().merge(order.getId(), order.getUpdatedAt(),
+                (current, candidate) -> candidate.isBefore(current) ? current : candidate);
+
+        // Items never change after creation, so the cached copy only needs
+        // its status and timestamp refreshed.
+        orders.asMap().computeIfPresent(order.getId(), (id, cached) ->
+                order.getUpdatedAt().isBefore(cached.updatedAt())
+                        ? cached
+                        : cached.withStatus(order.getStatus(), order.getUpdatedAt()));
+    }
+}
@@ -0,0 +1,121 @@
+package com.food.order.cache;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one call. The first caller for
+ * a (query, key) pair runs the loader; callers arriving while it runs wait
+ * for and share its result (or its exception). Nothing is kept once the
+ * call finishes: this removes duplicate concurrent work, it is not a cache.
+ *
+ * <p>A follower waits at most the timeout given for that call, then runs
+ * the loader itself, so one stuck query cannot stall every reader of that
+ * key. Results are shared between threads and must not be mutated.
+ */
+@Component
+@Slf4j
+public class SingleFlight {
+
+    private final MeterRegistry meterRegistry;
+
+    private final Map<FlightKey, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Map<String, Stats> stats = new ConcurrentHashMap<>();
+
+    public SingleFlight(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String query, Object key, Duration timeout, Supplier<T> loader) {
+
+        Stats queryStats = stats.computeIfAbsent(query, this::register);
+        FlightKey flightKey = new FlightKey(query, key);
+
+        CompletableFuture<Object> mine = new CompletableFuture<>();
+        CompletableFuture<Object> running = inFlight.putIfAbsent(flightKey, mine);
+
+        if (running == null) {
+            queryStats.leaders.increment();
+            try {
+                T result = loader.get();
+                mine.complete(result);
+                return result;
+            } catch (RuntimeException | Error e) {
+                mine.completeExceptionally(e);
+                throw e;
+            } finally {
+                inFlight.remove(flightKey, mine);
+            }
+        }
+
+        queryStats.followers.increment();
+        try {
+            return (T) running.get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            if (e.getCause() instanceof Error cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            queryStats.timeouts.increment();
+            log.debug("Single-flight wait timed out, loading directly | query={} | key={}", query, key);
+            return loader.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for " + query, e);
+        }
+    }
+
+    private Stats register(String query) {
+        Stats queryStats = new Stats();
+        FunctionCounter.builder("order.singleflight.calls", queryStats.leaders, LongAdder::sum)
+                .description("Reads that ran the query themselves")
+                .tags("query", query, "role", "leader")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.singleflight.calls", queryStats.followers, LongAdder::sum)
+                .description("Reads that joined a query already in flight")
+                .tags("query", query, "role", "follower")
+                .register(meterRegistry);
+        FunctionCounter.builder("order.singleflight.timeouts", queryStats.timeouts, LongAdder::sum)
+                .description("Followers that gave up waiting and ran the query themselves")
+                .tag("query", query)
+                .register(meterRegistry);
+        Gauge.builder("order.singleflight.coalescing.ratio", queryStats, Stats::coalescingRatio)
+                .description("Share of reads served by another caller's query since startup")
+                .tag("query", query)
+                .register(meterRegistry);
+        return queryStats;
+    }
+
+    private record FlightKey(String query, Object key) {}
+
+    private static final class Stats {
+
+        private final LongAdder leaders = new LongAdder();
+        private final LongAdder followers = new LongAdder();
+        private final LongAdder timeouts = new LongAdder();
+
+        private double coalescingRatio() {
+            long joined = followers.sum() - timeouts.sum();
+            long total = leaders.sum() + followers.sum();
+            return total == 0 ? 0.0 : (double) joined / total;
+        }
+    }
+}
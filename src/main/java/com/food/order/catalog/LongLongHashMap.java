@@ -0,0 +1,161 @@
+package com.food.order.catalog;
+
+/**
+ * Open-addressing hash map from primitive {@code long} to {@code long}:
+ * two parallel arrays, linear probing, no boxing and no per-entry objects.
+ * At the default load factor one entry costs about 27 bytes, against
+ * roughly 100 for a {@code HashMap<Long, BigDecimal>} entry.
+ *
+ * <p>Not thread-safe. {@link MenuPriceCatalog} only ever reads a published
+ * instance and applies changes to a {@link #copy()}.
+ */
+public final class LongLongHashMap {
+
+    private static final float LOAD_FACTOR = 0.6f;
+
+    // 0 marks a free slot, so key 0 is kept outside the table
+    private static final long FREE = 0L;
+
+    private long[] keys;
+    private long[] values;
+    private int mask;
+    private int resizeAt;
+    private int size;
+
+    private boolean hasZeroKey;
+    private long zeroValue;
+
+    public LongLongHashMap(int expectedSize) {
+        allocate(capacityFor(expectedSize));
+    }
+
+    private LongLongHashMap(LongLongHashMap source) {
+        this.keys = source.keys.clone();
+        this.values = source.values.clone();
+        this.mask = source.mask;
+        this.resizeAt = source.resizeAt;
+        this.size = source.size;
+        this.hasZeroKey = source.hasZeroKey;
+        this.zeroValue = source.zeroValue;
+    }
+
+    public long get(long key, long missing) {
+        if (key == FREE) {
+            return hasZeroKey ? zeroValue : missing;
+        }
+        long[] keys = this.keys;
+        int slot = slot(key);
+        while (true) {
+            long candidate = keys[slot];
+            if (candidate == key) {
+                return values[slot];
+            }
+            if (candidate == FREE) {
+                return missing;
+            }
+            slot = (slot + 1) & mask;
+        }
+    }
+
+    public void put(long key, long value) {
+        if (key == FREE) {
+            hasZeroKey = true;
+            zeroValue = value;
+            return;
+        }
+        int slot = slot(key);
+        while (keys[slot] != FREE) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[slot] = key;
+        values[slot] = value;
+        if (++size > resizeAt) {
+            rehash(keys.length * 2);
+        }
+    }
+
+    public boolean remove(long key) {
+        if (key == FREE) {
+            boolean had = hasZeroKey;
+            hasZeroKey = false;
+            return had;
+        }
+        int slot = slot(key);
+        while (keys[slot] != key) {
+            if (keys[slot] == FREE) {
+                return false;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        // Backward-shift deletion: pull later entries of the probe run into
+        // the gap so lookups never need tombstones.
+        int gap = slot;
+        int next = (gap + 1) & mask;
+        while (keys[next] != FREE) {
+            int ideal = slot(keys[next]);
+            if (((next - ideal) & mask) >= ((next - gap) & mask)) {
+                keys[gap] = keys[next];
+                values[gap] = values[next];
+                gap = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[gap] = FREE;
+        values[gap] = 0;
+        size--;
+        return true;
+    }
+
+    public int size() {
+        return size + (hasZeroKey ? 1 : 0);
+    }
+
+    public LongLongHashMap copy() {
+        return new LongLongHashMap(this);
+    }
+
+    // Heap held by the two tables
+    public long memoryBytes() {
+        return 2L * Long.BYTES * keys.length;
+    }
+
+    private int slot(long key) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        size = 0;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != FREE) {
+                put(oldKeys[i], oldValues[i]);
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private static int capacityFor(int expectedSize) {
+        long needed = (long) Math.ceil(Math.max(expectedSize, 1) / LOAD_FACTOR) + 1;
+        int capacity = Integer.highestOneBit((int) Math.min(needed, 1 << 30));
+        return Math.max(capacity < needed ? capacity << 1 : capacity, 16);
+    }
+
+    @Override
+    public String toString() {
+        return "LongLongHashMap[size=" + size() + ", capacity=" + keys.length + "]";
+    }
+}
@@ -0,0 +1,191 @@
+package com.food.order.catalog;
+
+import com.food.order.dto.MenuPriceRow;
+import com.food.order.dto.OrderRequest;
+import com.food.order.repository.MenuItemPriceRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * In-memory menu price catalog backing order pricing. All active prices are
+ * streamed into a {@link LongLongHashMap} at startup; afterwards only rows
+ * whose {@code updated_at} moved are re-read. Readers use the published
+ * snapshot without locking; a refresh that changes anything builds a copy
+ * and swaps the reference.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class MenuPriceCatalog implements SmartInitializingSingleton {
+
+    // Absent keys; prices are never negative
+    private static final long MISSING = -1L;
+
+    // Re-read a little before the last high-water mark so rows committed
+    // late with an earlier updated_at are not skipped
+    private static final Duration REFRESH_OVERLAP = Duration.ofSeconds(5);
+
+    private final MenuItemPriceRepository menuItemPriceRepository;
+    private final PlatformTransactionManager transactionManager;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${order.catalog.default-price-cents:1000}")
+    private long defaultPriceCents;
+
+    private volatile LongLongHashMap prices = new LongLongHashMap(16);
+    private LocalDateTime highWaterMark = LocalDateTime.of(1970, 1, 1, 0, 0);
+
+    private Counter misses;
+    private Timer refreshTimer;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        Gauge.builder("order.catalog.size", this, catalog -> catalog.prices.size())
+                .description("Menu items held in the price catalog")
+                .register(meterRegistry);
+        Gauge.builder("order.catalog.memory", this, catalog -> catalog.prices.memoryBytes())
+                .description("Heap held by the price catalog tables")
+                .baseUnit("bytes")
+                .register(meterRegistry);
+        misses = Counter.builder("order.catalog.misses")
+                .description("Order items priced with the default price because the menu item was unknown")
+                .register(meterRegistry);
+        refreshTimer = Timer.builder("order.catalog.refresh")
+                .description("Time to apply one incremental price refresh")
+                .register(meterRegistry);
+        load();
+    }
+
+    /* ---------- Pricing ---------- */
+
+    public long priceCents(long menuItemId) {
+        long price = prices.get(menuItemId, MISSING);
+        if (price == MISSING) {
+            misses.increment();
+            return defaultPriceCents;
+        }
+        return price;
+    }
+
+    /**
+     * Prices every item of the request against one snapshot, so a concurrent
+     * refresh can never give the same order a mix of old and new prices.
+     *
+     * @throws ArithmeticException if a line or the total overflows
+     */
+    public OrderPricing price(OrderRequest request) {
+        LongLongHashMap snapshot = prices;
+        List<OrderRequest.OrderItemRequest> items = request.getItems();
+
+        long[] unitPrices = new long[items.size()];
+        long[] lineTotals = new long[items.size()];
+        long total = 0;
+        int missed = 0;
+
+        for (int i = 0; i < unitPrices.length; i++) {
+            OrderRequest.OrderItemRequest item = items.get(i);
+            long price = snapshot.get(item.getMenuItemId(), MISSING);
+            if (price == MISSING) {
+                price = defaultPriceCents;
+                missed++;
+            }
+            unitPrices[i] = price;
+            lineTotals[i] = Math.multiplyExact(price, (long) item.getQuantity());
+            total = Math.addExact(total, lineTotals[i]);
+        }
+
+        if (missed > 0) {
+            misses.increment(missed);
+        }
+        return new OrderPricing(unitPrices, lineTotals, total);
+    }
+
+    public int size() {
+        return prices.size();
+    }
+
+    /* ---------- Loading ---------- */
+
+    // Streams the table once; the count sizes the map so it never rehashes.
+    // The high-water mark comes from the table, not this instance's clock,
+    // and is read before the rows, so nothing between the two is skipped.
+    private synchronized void load() {
+        long started = System.nanoTime();
+
+        Loaded result = readOnly().execute(status -> {
+            LocalDateTime maxUpdatedAt = menuItemPriceRepository.findMaxUpdatedAt();
+            LongLongHashMap map = new LongLongHashMap(Math.toIntExact(menuItemPriceRepository.countActive()));
+            try (Stream<MenuPriceRow> rows = menuItemPriceRepository.streamActive()) {
+                rows.forEach(row -> map.put(row.menuItemId(), row.priceCents()));
+            }
+            return new Loaded(map, maxUpdatedAt);
+        });
+
+        LongLongHashMap loaded = result.prices();
+        prices = loaded;
+        if (result.maxUpdatedAt() != null) {
+            highWaterMark = result.maxUpdatedAt();
+        }
+        log.info("Loaded {} menu prices in {} ms | {} KiB",
+                loaded.size(), (System.nanoTime() - started) / 1_000_000, loaded.memoryBytes() / 1024);
+    }
+
+    @Scheduled(initialDelayString = "${order.catalog.refresh-interval-ms:30000}",
+               fixedDelayString = "${order.catalog.refresh-interval-ms:30000}")
+    public synchronized void refresh() {
+        refreshTimer.record(() -> {
+            List<MenuPriceRow> changes = readOnly().execute(status ->
+                    menuItemPriceRepository.findChangedSince(highWaterMark.minus(REFRESH_OVERLAP)));
+            if (changes.isEmpty()) {
+                return;
+            }
+
+            LongLongHashMap current = prices;
+            LongLongHashMap next = null;
+            for (MenuPriceRow row : changes) {
+                long existing = current.get(row.menuItemId(), MISSING);
+                long wanted = row.active() ? row.priceCents() : MISSING;
+                if (existing == wanted) {
+                    continue; // overlap re-reads are mostly unchanged
+                }
+                if (next == null) {
+                    next = current.copy();
+                }
+                if (row.active()) {
+                    next.put(row.menuItemId(), row.priceCents());
+                } else {
+                    next.remove(row.menuItemId());
+                }
+            }
+
+            highWaterMark = changes.get(changes.size() - 1).updatedAt();
+            if (next != null) {
+                prices = next;
+                log.debug("Applied menu price changes | rows={} size={}", changes.size(), next.size());
+            }
+        });
+    }
+
+    private record Loaded(LongLongHashMap prices, LocalDateTime maxUpdatedAt) {}
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+}
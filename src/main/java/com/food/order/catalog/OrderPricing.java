@@ -0,0 +1,32 @@
+package com.food.order.catalog;
+
+import java.math.BigDecimal;
+
+/**
+ * Prices of one {@link com.food.order.dto.OrderRequest}, indexed like its
+ * items, in minor units. Produced by {@link MenuPriceCatalog#price} and
+ * consumed by the mapper, which only converts to {@link BigDecimal} at the
+ * entity boundary.
+ */
+public record OrderPricing(long[] unitPriceCents, long[] lineTotalCents, long totalCents) {
+
+    public BigDecimal unitPrice(int item) {
+        return toAmount(unitPriceCents[item]);
+    }
+
+    public BigDecimal lineTotal(int item) {
+        return toAmount(lineTotalCents[item]);
+    }
+
+    public BigDecimal total() {
+        return toAmount(totalCents);
+    }
+
+    public int itemCount() {
+        return unitPriceCents.length;
+    }
+
+    public static BigDecimal toAmount(long cents) {
+        return BigDecimal.valueOf(cents, 2);
+    }
+}
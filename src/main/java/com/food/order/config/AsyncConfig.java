@@ -2,7 +2,9 @@ package com.food.order.config;
 
 import org.springframework.aop.interceptor.AsyncUncaughtExceptionHandler;
 import org.springframework.aop.interceptor.SimpleAsyncUncaughtExceptionHandler;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
 import org.springframework.scheduling.annotation.AsyncConfigurer;
 import org.springframework.scheduling.annotation.EnableAsync;
 import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
@@ -13,8 +15,24 @@ import java.util.concurrent.Executor;
 @EnableAsync
 public class AsyncConfig implements AsyncConfigurer {
 
+    // Same switch Spring Boot uses to move Tomcat onto virtual threads
+    @Value("${spring.threads.virtual.enabled:false}")
+    private boolean virtualThreads;
+
+    @Value("${order.async.concurrency-limit:64}")
+    private int concurrencyLimit;
+
     @Override
     public Executor getAsyncExecutor() {
+        if (virtualThreads) {
+            // One virtual thread per task; the limit throttles submitters
+            // instead of rejecting work when a burst arrives.
+            SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor("order-async-");
+            executor.setVirtualThreads(true);
+            executor.setConcurrencyLimit(concurrencyLimit);
+            return executor;
+        }
+
         ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
         executor.setCorePoolSize(4);
         executor.setMaxPoolSize(8);
@@ -29,5 +47,3 @@ public class AsyncConfig implements AsyncConfigurer {
         return new SimpleAsyncUncaughtExceptionHandler();
     }
 }
-
-
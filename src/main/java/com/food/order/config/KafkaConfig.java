@@ -1,5 +1,7 @@
 package com.food.order.config;
 
+import com.food.order.kafka.OrderEventBinaryDeserializer;
+import com.food.order.kafka.OrderEventBinarySerializer;
 import org.apache.kafka.clients.consumer.ConsumerConfig;
 import org.apache.kafka.clients.producer.ProducerConfig;
 import org.apache.kafka.common.serialization.StringDeserializer;
@@ -27,14 +29,40 @@ public class KafkaConfig {
     @Value("${spring.kafka.consumer.group-id:order-service}")
     private String groupId;
 
+    // json (default) or binary, see OrderEventCodec for the binary layout
+    @Value("${order.kafka.event-format:json}")
+    private String eventFormat;
+
+    @Value("${order.kafka.producer.linger-ms:5}")
+    private int lingerMs;
+
+    @Value("${order.kafka.producer.batch-size:65536}")
+    private int batchSize;
+
+    @Value("${order.kafka.producer.max-block-ms:5000}")
+    private long maxBlockMs;
+
     @Bean
     public ProducerFactory<String, Object> producerFactory() {
         Map<String, Object> configProps = new HashMap<>();
         configProps.put(ProducerConfig.BOOTSTRAP_SERVERS_CONFIG, bootstrapServers);
         configProps.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
-        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, JsonSerializer.class);
+        configProps.put(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG,
+                binaryEvents() ? OrderEventBinarySerializer.class : JsonSerializer.class);
         configProps.put(JsonSerializer.ADD_TYPE_INFO_HEADERS, false);
 
+        // The outbox relay pipelines whole batches; idempotence keeps per-key
+        // ordering with several in-flight requests, linger/batch let records
+        // share a produce request.
+        configProps.put(ProducerConfig.ENABLE_IDEMPOTENCE_CONFIG, true);
+        configProps.put(ProducerConfig.ACKS_CONFIG, "all");
+        configProps.put(ProducerConfig.LINGER_MS_CONFIG, lingerMs);
+        configProps.put(ProducerConfig.BATCH_SIZE_CONFIG, batchSize);
+        configProps.put(ProducerConfig.COMPRESSION_TYPE_CONFIG, "lz4");
+        // Fail fast when the broker is unreachable or the buffer is full so
+        // the relay can move the batch to the spool instead of stalling.
+        configProps.put(ProducerConfig.MAX_BLOCK_MS_CONFIG, maxBlockMs);
+
         return new DefaultKafkaProducerFactory<>(configProps);
     }
 
@@ -52,7 +80,8 @@ public class KafkaConfig {
 
         // Use ErrorHandlingDeserializer to handle deserialization errors gracefully
         configProps.put(ConsumerConfig.VALUE_DESERIALIZER_CLASS_CONFIG, ErrorHandlingDeserializer.class);
-        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS, JsonDeserializer.class);
+        configProps.put(ErrorHandlingDeserializer.VALUE_DESERIALIZER_CLASS,
+                binaryEvents() ? OrderEventBinaryDeserializer.class : JsonDeserializer.class);
         configProps.put(JsonDeserializer.TRUSTED_PACKAGES, "*");
         configProps.put(JsonDeserializer.VALUE_DEFAULT_TYPE, Object.class);
 
@@ -66,6 +95,8 @@ public class KafkaConfig {
         factory.setConsumerFactory(consumerFactory());
         return factory;
     }
-}
-
 
+    private boolean binaryEvents() {
+        return "binary".equalsIgnoreCase(eventFormat);
+    }
+}
@@ -0,0 +1,33 @@
+package com.food.order.controller;
+
+import com.food.order.analytics.OrderAnalytics;
+import com.food.order.analytics.WindowResolution;
+import com.food.order.dto.RestaurantAnalytics;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping("/api/v1/analytics")
+@RequiredArgsConstructor
+@Tag(name = "Order Analytics", description = "Windowed order, revenue and cancellation figures per restaurant")
+public class AnalyticsController {
+
+    private final OrderAnalytics orderAnalytics;
+
+    @GetMapping("/restaurants/{restaurantId}")
+    @Operation(summary = "Get sliding-window totals for a restaurant (last hour, 24 hours, 7 and 30 days)")
+    public ResponseEntity<RestaurantAnalytics> getRestaurantAnalytics(@PathVariable Long restaurantId) {
+        return ResponseEntity.ok(orderAnalytics.getAnalytics(restaurantId));
+    }
+
+    @GetMapping("/restaurants/{restaurantId}/series")
+    @Operation(summary = "Get per-minute, per-hour or per-day buckets for a restaurant")
+    public ResponseEntity<RestaurantAnalytics.Series> getRestaurantSeries(
+            @PathVariable Long restaurantId,
+            @RequestParam(defaultValue = "HOUR") WindowResolution resolution) {
+        return ResponseEntity.ok(orderAnalytics.getSeries(restaurantId, resolution));
+    }
+}
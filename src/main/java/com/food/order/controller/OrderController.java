@@ -1,19 +1,50 @@
 package com.food.order.controller;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.order.board.RestaurantOrderBoard;
+import com.food.order.dto.BatchOrderRequest;
+import com.food.order.dto.BatchOrderResponse;
+import com.food.order.dto.BatchStatusUpdateRequest;
+import com.food.order.dto.BatchStatusUpdateResponse;
+import com.food.order.dto.OrderCursor;
+import com.food.order.dto.OrderDetails;
+import com.food.order.dto.OrderPage;
 import com.food.order.dto.OrderRequest;
-import com.food.order.model.Order;
+import com.food.order.dto.OrderSummary;
+import com.food.order.dto.RestaurantBoard;
+import com.food.order.export.OrderExporter;
 import com.food.order.model.OrderStatus;
+import com.food.order.service.IdempotencyService;
 import com.food.order.service.OrderService;
+import com.food.order.stats.OrderStatusCounters;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.context.request.async.WebAsyncUtils;
+import org.springframework.web.server.ResponseStatusException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.zip.GZIPOutputStream;
 
 @RestController
 @RequestMapping("/api/v1/orders")
@@ -22,19 +53,57 @@ import java.util.List;
 @Tag(name = "Order Management", description = "APIs for managing food orders")
 public class OrderController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String IDEMPOTENT_REPLAY_HEADER = "Idempotent-Replayed";
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 128;
+
+    private static final String EXPORT_SLOT_INTERCEPTOR = OrderController.class.getName() + ".exportSlot";
+
     private final OrderService orderService;
+    private final IdempotencyService idempotencyService;
+    private final RestaurantOrderBoard restaurantOrderBoard;
+    private final OrderStatusCounters orderStatusCounters;
+    private final OrderExporter orderExporter;
+    private final ObjectMapper objectMapper;
 
     @PostMapping
     @Operation(summary = "Create a new order")
-    public ResponseEntity<Order> createOrder(@Valid @RequestBody OrderRequest request) {
-        log.info("Received order creation request for customer: {}", request.getCustomerId());
-        Order order = orderService.createOrder(request);
-        return new ResponseEntity<>(order, HttpStatus.CREATED);
+    public ResponseEntity<OrderDetails> createOrder(
+            @Valid @RequestBody OrderRequest request,
+            @RequestHeader(value = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey) {
+        log.atDebug().addKeyValue("customerId", request.getCustomerId()).log("Received order creation request");
+
+        if (idempotencyKey == null) {
+            OrderDetails order = orderService.createOrder(request);
+            return new ResponseEntity<>(order, HttpStatus.CREATED);
+        }
+
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                    IDEMPOTENCY_KEY_HEADER + " must be 1-" + MAX_IDEMPOTENCY_KEY_LENGTH + " characters");
+        }
+
+        // A replay returns the original order with 200 instead of 201
+        IdempotencyService.Result result = idempotencyService.createOrder(idempotencyKey, request);
+        return ResponseEntity.status(result.replayed() ? HttpStatus.OK : HttpStatus.CREATED)
+                .header(IDEMPOTENT_REPLAY_HEADER, Boolean.toString(result.replayed()))
+                .body(result.order());
+    }
+
+    @PostMapping("/batch")
+    @Operation(summary = "Create orders in bulk")
+    public ResponseEntity<BatchOrderResponse> createOrders(@Valid @RequestBody BatchOrderRequest request) {
+        log.atDebug().addKeyValue("size", request.getOrders().size()).log("Received batch order creation request");
+        BatchOrderResponse response = orderService.createOrders(request.getOrders());
+        HttpStatus status = response.getRejected() == 0 ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
     }
 
     @GetMapping("/{orderId}")
     @Operation(summary = "Get order by ID")
-    public ResponseEntity<Order> getOrderById(@PathVariable Long orderId) {
+    public ResponseEntity<OrderDetails> getOrderById(@PathVariable Long orderId) {
         return orderService.getOrderById(orderId)
                 .map(order -> ResponseEntity.ok(order))
                 .orElse(ResponseEntity.notFound().build());
@@ -42,64 +111,194 @@ public class OrderController {
 
     @GetMapping("/customer/{customerId}")
     @Operation(summary = "Get orders by customer ID")
-    public ResponseEntity<List<Order>> getOrdersByCustomerId(@PathVariable Long customerId) {
-        List<Order> orders = orderService.getOrdersByCustomerId(customerId);
+    public ResponseEntity<List<OrderDetails>> getOrdersByCustomerId(@PathVariable Long customerId) {
+        List<OrderDetails> orders = orderService.getOrdersByCustomerId(customerId);
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/customer/{customerId}/range")
+    @Operation(summary = "Get a customer's orders created in a time range, including archived orders")
+    public ResponseEntity<List<OrderSummary>> getOrdersByCustomerBetweenDates(
+            @PathVariable Long customerId,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(orderService.getOrdersByCustomerBetweenDates(customerId, from, to));
+    }
+
+    @GetMapping("/range")
+    @Operation(summary = "Get orders created in a time range, including archived orders")
+    public ResponseEntity<List<OrderSummary>> getOrdersBetweenDates(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        return ResponseEntity.ok(orderService.getOrdersBetweenDates(from, to));
+    }
+
     @GetMapping("/restaurant/{restaurantId}")
     @Operation(summary = "Get orders by restaurant ID")
-    public ResponseEntity<List<Order>> getOrdersByRestaurantId(@PathVariable Long restaurantId) {
-        List<Order> orders = orderService.getOrdersByRestaurantId(restaurantId);
+    public ResponseEntity<List<OrderDetails>> getOrdersByRestaurantId(@PathVariable Long restaurantId) {
+        List<OrderDetails> orders = orderService.getOrdersByRestaurantId(restaurantId);
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/restaurant/{restaurantId}/board")
+    @Operation(summary = "Get the live board of a restaurant's active orders")
+    public ResponseEntity<RestaurantBoard> getRestaurantBoard(@PathVariable Long restaurantId) {
+        return ResponseEntity.ok(restaurantOrderBoard.getBoard(restaurantId));
+    }
+
+    @GetMapping("/restaurant/{restaurantId}/board/counts")
+    @Operation(summary = "Get active order counts per status for a restaurant")
+    public ResponseEntity<Map<OrderStatus, Integer>> getRestaurantBoardCounts(@PathVariable Long restaurantId) {
+        return ResponseEntity.ok(restaurantOrderBoard.getCounts(restaurantId));
+    }
+
     @GetMapping("/status/{status}")
     @Operation(summary = "Get orders by status")
-    public ResponseEntity<List<Order>> getOrdersByStatus(@PathVariable OrderStatus status) {
-        List<Order> orders = orderService.getOrdersByStatus(status);
+    public ResponseEntity<List<OrderSummary>> getOrdersByStatus(@PathVariable OrderStatus status) {
+        List<OrderSummary> orders = orderService.getOrdersByStatus(status);
         return ResponseEntity.ok(orders);
     }
 
+    @GetMapping("/stats/status-counts")
+    @Operation(summary = "Get the number of orders in each status")
+    public ResponseEntity<Map<OrderStatus, Long>> getStatusCounts() {
+        return ResponseEntity.ok(orderStatusCounters.snapshot());
+    }
+
     @PutMapping("/{orderId}/status")
     @Operation(summary = "Update order status")
-    public ResponseEntity<Order> updateOrderStatus(@PathVariable Long orderId,
-                                                 @RequestParam OrderStatus status) {
-        log.info("Updating order {} status to {}", orderId, status);
-        Order updatedOrder = orderService.updateOrderStatus(orderId, status);
+    public ResponseEntity<OrderSummary> updateOrderStatus(@PathVariable Long orderId,
+                                                        @RequestParam OrderStatus status) {
+        log.atDebug().addKeyValue("orderId", orderId).addKeyValue("status", status).log("Received status update request");
+        OrderSummary updatedOrder = orderService.updateOrderStatus(orderId, status);
         return ResponseEntity.ok(updatedOrder);
     }
 
+    @PutMapping("/status/batch")
+    @Operation(summary = "Apply status transitions to many orders at once")
+    public ResponseEntity<BatchStatusUpdateResponse> updateOrderStatuses(
+            @Valid @RequestBody BatchStatusUpdateRequest request) {
+        log.atDebug().addKeyValue("size", request.getUpdates().size()).log("Received batch status update request");
+        BatchStatusUpdateResponse response = orderService.updateOrderStatuses(request.getUpdates());
+        HttpStatus status = response.getRejected() == 0 ? HttpStatus.OK : HttpStatus.MULTI_STATUS;
+        return new ResponseEntity<>(response, status);
+    }
+
     @PutMapping("/{orderId}/cancel")
     @Operation(summary = "Cancel an order")
-    public ResponseEntity<Order> cancelOrder(@PathVariable Long orderId) {
-        log.info("Cancelling order {}", orderId);
-        Order cancelledOrder = orderService.cancelOrder(orderId);
+    public ResponseEntity<OrderSummary> cancelOrder(@PathVariable Long orderId) {
+        log.atDebug().addKeyValue("orderId", orderId).log("Received cancel request");
+        OrderSummary cancelledOrder = orderService.cancelOrder(orderId);
         return ResponseEntity.ok(cancelledOrder);
     }
 
     @GetMapping
-    @Operation(summary = "Get all orders with optional filtering")
-    public ResponseEntity<List<Order>> getAllOrders(
+    @Operation(summary = "Get orders with optional filtering, newest first, using cursor pagination")
+    public ResponseEntity<OrderPage<OrderSummary>> getAllOrders(
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(required = false) OrderStatus status,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "50") int limit) {
+
+        OrderCursor position = cursor != null ? decodeCursor(cursor) : null;
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+
+        OrderPage<OrderSummary> page =
+                orderService.getOrders(customerId, restaurantId, status, position, pageSize);
+
+        return ResponseEntity.ok(page);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @Operation(summary = "Stream orders with optional filtering as newline-delimited JSON")
+    public ResponseEntity<StreamingResponseBody> streamOrders(
             @RequestParam(required = false) Long customerId,
             @RequestParam(required = false) Long restaurantId,
             @RequestParam(required = false) OrderStatus status) {
 
-        List<Order> orders;
-
-        if (customerId != null) {
-            orders = orderService.getOrdersByCustomerId(customerId);
-        } else if (restaurantId != null) {
-            orders = orderService.getOrdersByRestaurantId(restaurantId);
-        } else if (status != null) {
-            orders = orderService.getOrdersByStatus(status);
-        } else {
-            // This would typically be paginated, but for simplicity returning all
-            orders = List.of(); // In a real implementation, you'd have a method to get all orders
+        StreamingResponseBody body = outputStream -> {
+            OutputStream out = new BufferedOutputStream(outputStream, 64 * 1024);
+            orderService.streamOrders(customerId, restaurantId, status, order -> writeLine(out, order));
+            out.flush();
+        };
+
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    @GetMapping("/export")
+    @Operation(summary = "Export orders with their items created in [from, to) as CSV or NDJSON, including archived orders")
+    public ResponseEntity<StreamingResponseBody> exportOrders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) Long restaurantId,
+            @RequestParam(defaultValue = "CSV") OrderExporter.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip,
+            HttpServletRequest request) {
+
+        if (!from.isBefore(to)) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "from must be before to");
         }
 
-        return ResponseEntity.ok(orders);
+        OrderExporter.Filter filter = new OrderExporter.Filter(from, to, customerId, restaurantId);
+        // Taken here so a busy exporter answers 429 before any headers go out
+        OrderExporter.Slot slot = orderExporter.acquire();
+        releaseWhenAsyncEnds(request, slot);
+
+        StreamingResponseBody body = outputStream -> {
+            try (slot) {
+                OutputStream out = gzip ? new GZIPOutputStream(outputStream, 64 * 1024) : outputStream;
+                orderExporter.export(filter, format, out);
+                if (out instanceof GZIPOutputStream compressed) {
+                    compressed.finish();
+                }
+                out.flush();
+            }
+        };
+
+        String extension = format == OrderExporter.Format.CSV ? "csv" : "ndjson";
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .contentType(format == OrderExporter.Format.CSV
+                        ? MediaType.parseMediaType("text/csv;charset=UTF-8")
+                        : MediaType.APPLICATION_NDJSON)
+                .header(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                        .filename("orders-" + from.toLocalDate() + "-" + to.toLocalDate() + "." + extension)
+                        .build().toString());
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
-}
 
+    // The body may never run (async timeout, client gone, dispatch error), so
+    // the slot is also released when async processing ends, whatever the outcome
+    private static void releaseWhenAsyncEnds(HttpServletRequest request, OrderExporter.Slot slot) {
+        WebAsyncUtils.getAsyncManager(request).registerCallableInterceptor(EXPORT_SLOT_INTERCEPTOR,
+                new CallableProcessingInterceptor() {
+                    @Override
+                    public <T> void afterCompletion(NativeWebRequest webRequest, Callable<T> task) {
+                        slot.close();
+                    }
+                });
+    }
 
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private OrderCursor decodeCursor(String cursor) {
+        try {
+            return OrderCursor.decode(cursor);
+        } catch (IllegalArgumentException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Invalid cursor");
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.food.order.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Order totals of one restaurant over {@code [from, to)}. Revenue is gross
+ * order value created in the window; cancellations are counted when they
+ * happen, with the value they took back in {@code cancelledRevenue}, so
+ * the rate can exceed 1 in a short window cancelling older orders.
+ */
+public record AnalyticsWindow(
+        LocalDateTime from,
+        LocalDateTime to,
+        long orders,
+        BigDecimal revenue,
+        long cancellations,
+        BigDecimal cancelledRevenue,
+        double cancellationRate
+) {}
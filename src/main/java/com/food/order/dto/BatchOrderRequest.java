@@ -0,0 +1,23 @@
+package com.food.order.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderRequest {
+
+    // Individual orders are validated one by one in the service so that a
+    // single bad order is reported instead of rejecting the whole batch.
+    @NotEmpty(message = "Orders cannot be empty")
+    @Size(max = 500, message = "A batch cannot exceed 500 orders")
+    private List<OrderRequest> orders;
+}
@@ -0,0 +1,39 @@
+package com.food.order.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchOrderResponse {
+
+    private int accepted;
+
+    private int rejected;
+
+    private List<BatchOrderResult> results;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class BatchOrderResult {
+
+        // Position of the order in the submitted batch
+        private int index;
+
+        private boolean success;
+
+        private Long orderId;
+
+        private String orderNumber;
+
+        private List<String> errors;
+    }
+}
@@ -0,0 +1,37 @@
+package com.food.order.dto;
+
+import com.food.order.model.OrderStatus;
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStatusUpdateRequest {
+
+    @NotEmpty(message = "Updates cannot be empty")
+    @Size(max = 500, message = "A batch cannot exceed 500 updates")
+    private List<@Valid StatusUpdate> updates;
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusUpdate {
+
+        @NotNull(message = "Order ID is required")
+        private Long orderId;
+
+        @NotNull(message = "Status is required")
+        private OrderStatus status;
+    }
+}
@@ -0,0 +1,49 @@
+package com.food.order.dto;
+
+import com.food.order.model.OrderStatus;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@Builder
+@NoArgsConstructor
+@AllArgsConstructor
+public class BatchStatusUpdateResponse {
+
+    private int applied;
+
+    private int rejected;
+
+    private List<StatusUpdateResult> results;
+
+    public enum Outcome {
+        APPLIED,
+        NOT_FOUND,
+        INVALID_TRANSITION,
+        // Same order listed more than once; only its first entry is applied
+        DUPLICATE
+    }
+
+    @Data
+    @Builder
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class StatusUpdateResult {
+
+        // Position of the update in the submitted batch
+        private int index;
+
+        private Long orderId;
+
+        private Outcome outcome;
+
+        // Status after the batch, or null if the order does not exist
+        private OrderStatus status;
+
+        private String error;
+    }
+}
@@ -0,0 +1,14 @@
+package com.food.order.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * One row of {@code menu_item_prices}, read by JPQL constructor expression
+ * so catalog loads never put a million entities in the persistence context.
+ */
+public record MenuPriceRow(
+        Long menuItemId,
+        long priceCents,
+        boolean active,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,40 @@
+package com.food.order.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Keyset position in the (createdAt DESC, id DESC) ordering. Clients only
+ * ever see the opaque, URL-safe encoded form.
+ */
+public record OrderCursor(LocalDateTime createdAt, Long id) {
+
+    // Sorts after every real row (MySQL DATETIME tops out at year 9999)
+    public static final OrderCursor START =
+            new OrderCursor(LocalDateTime.of(9999, 12, 31, 23, 59, 59), Long.MAX_VALUE);
+
+    private static final char SEPARATOR = '~';
+
+    public static OrderCursor after(OrderSummary last) {
+        return new OrderCursor(last.createdAt(), last.id());
+    }
+
+    public String encode() {
+        String raw = createdAt.toString() + SEPARATOR + id;
+        return Base64.getUrlEncoder().withoutPadding()
+                .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static OrderCursor decode(String token) {
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int split = raw.lastIndexOf(SEPARATOR);
+            return new OrderCursor(
+                    LocalDateTime.parse(raw.substring(0, split)),
+                    Long.parseLong(raw.substring(split + 1)));
+        } catch (RuntimeException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + token, e);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.food.order.dto;
+
+import com.food.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Read model of an order together with its items. Always built inside the
+ * loading transaction from an entity whose items were fetched eagerly.
+ */
+public record OrderDetails(
+        Long id,
+        String orderNumber,
+        Long customerId,
+        Long restaurantId,
+        List<Item> items,
+        BigDecimal totalAmount,
+        OrderStatus status,
+        String deliveryAddress,
+        String contactPhone,
+        String specialInstructions,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {
+
+    public OrderDetails withStatus(OrderStatus newStatus, LocalDateTime newUpdatedAt) {
+        return new OrderDetails(id, orderNumber, customerId, restaurantId, items, totalAmount,
+                newStatus, deliveryAddress, contactPhone, specialInstructions, createdAt, newUpdatedAt);
+    }
+
+    public record Item(
+            Long id,
+            Long menuItemId,
+            Integer quantity,
+            BigDecimal unitPrice,
+            BigDecimal totalPrice,
+            String specialInstructions
+    ) {}
+}
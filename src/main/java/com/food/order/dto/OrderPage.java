@@ -0,0 +1,9 @@
+package com.food.order.dto;
+
+import java.util.List;
+
+/**
+ * One page of a keyset-paginated listing. {@code nextCursor} is null on the
+ * last page; otherwise it is passed back as {@code cursor} to continue.
+ */
+public record OrderPage<T>(List<T> items, String nextCursor) {}
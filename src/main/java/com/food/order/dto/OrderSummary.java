@@ -0,0 +1,21 @@
+package com.food.order.dto;
+
+import com.food.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Flat read model of an order without its items. Built directly by JPQL
+ * constructor expressions, so list queries never materialize entities.
+ */
+public record OrderSummary(
+        Long id,
+        String orderNumber,
+        Long customerId,
+        Long restaurantId,
+        OrderStatus status,
+        BigDecimal totalAmount,
+        LocalDateTime createdAt,
+        LocalDateTime updatedAt
+) {}
@@ -0,0 +1,20 @@
+package com.food.order.dto;
+
+import com.food.order.analytics.WindowResolution;
+
+import java.util.List;
+import java.util.Map;
+
+public record RestaurantAnalytics(
+        Long restaurantId,
+        // Sliding windows ending now, e.g. "last-hour"
+        Map<String, AnalyticsWindow> windows
+) {
+
+    // Consecutive tumbling buckets, oldest first, empty buckets included
+    public record Series(
+            Long restaurantId,
+            WindowResolution resolution,
+            List<AnalyticsWindow> buckets
+    ) {}
+}
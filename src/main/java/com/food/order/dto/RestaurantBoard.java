@@ -0,0 +1,16 @@
+package com.food.order.dto;
+
+import com.food.order.model.OrderStatus;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Live view of a restaurant's active orders, grouped by status (oldest
+ * first) with the matching counts.
+ */
+public record RestaurantBoard(
+        Long restaurantId,
+        Map<OrderStatus, List<OrderSummary>> orders,
+        Map<OrderStatus, Integer> counts
+) {}
@@ -1,8 +0,0 @@
-package com.food.order.event;
-
-
-
-import com.food.order.model.Order;
-
-public record OrderCreatedEvent(Order order) {}
-
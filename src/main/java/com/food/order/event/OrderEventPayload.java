@@ -0,0 +1,61 @@
+package com.food.order.event;
+
+import com.food.order.model.Order;
+import com.food.order.model.OrderStatus;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Kafka representation of an order domain event. Carries only scalar order
+ * state so that neither the outbox nor the producer ever touches the lazy
+ * JPA item collection.
+ */
+public record OrderEventPayload(
+        int version,
+        OrderEventType eventType,
+        Long orderId,
+        String orderNumber,
+        Long customerId,
+        Long restaurantId,
+        OrderStatus status,
+        OrderStatus previousStatus,
+        BigDecimal totalAmount,
+        LocalDateTime occurredAt
+) {
+
+    // Bump when fields are added or their meaning changes
+    public static final int CURRENT_VERSION = 1;
+
+    public static OrderEventPayload created(Order order) {
+        return of(OrderEventType.CREATED, order, null);
+    }
+
+    public static OrderEventPayload statusChanged(Order order, OrderStatus previousStatus) {
+        return of(OrderEventType.STATUS_CHANGED, order, previousStatus);
+    }
+
+    public static OrderEventPayload cancelled(Order order, OrderStatus previousStatus) {
+        return of(OrderEventType.CANCELLED, order, previousStatus);
+    }
+
+    public OrderEventPayload withPreviousStatus(OrderStatus previousStatus) {
+        return new OrderEventPayload(version, eventType, orderId, orderNumber, customerId,
+                restaurantId, status, previousStatus, totalAmount, occurredAt);
+    }
+
+    private static OrderEventPayload of(OrderEventType eventType, Order order, OrderStatus previousStatus) {
+        return new OrderEventPayload(
+                CURRENT_VERSION,
+                eventType,
+                order.getId(),
+                order.getOrderNumber(),
+                order.getCustomerId(),
+                order.getRestaurantId(),
+                order.getStatus(),
+                previousStatus,
+                order.getTotalAmount(),
+                order.getUpdatedAt()
+        );
+    }
+}
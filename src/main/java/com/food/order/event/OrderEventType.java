@@ -0,0 +1,7 @@
+package com.food.order.event;
+
+public enum OrderEventType {
+    CREATED,
+    STATUS_CHANGED,
+    CANCELLED
+}
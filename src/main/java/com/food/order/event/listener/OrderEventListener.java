@@ -1,25 +1,59 @@
 package com.food.order.event.listener;
 
-import com.food.order.event.OrderCreatedEvent;
-import com.food.order.kafka.OrderProducer;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.service.OrderService.OrderCancelledEvent;
+import com.food.order.service.OrderService.OrderCreatedEvent;
+import com.food.order.service.OrderService.OrderStatusBatchChangedEvent;
+import com.food.order.service.OrderService.OrderStatusChangedEvent;
+import com.food.order.service.OutboxService;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.event.TransactionalEventListener;
 import org.springframework.transaction.event.TransactionPhase;
 
+/**
+ * Writes domain events to the outbox inside the publishing transaction.
+ * Delivery to Kafka happens asynchronously in {@link com.food.order.kafka.OutboxRelay}.
+ */
 @Component
 @RequiredArgsConstructor
 @Slf4j
 public class OrderEventListener {
 
-    private final OrderProducer orderProducer;
+    private final OutboxService outboxService;
 
-    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
     public void handleOrderCreated(OrderCreatedEvent event) {
 
-        log.info("Publishing Kafka event for order {}", event.order().getId());
+        log.debug("Recording order-created outbox event for order {}", event.order().getId());
 
-        orderProducer.sendOrderCreatedEvent(event.order());
+        outboxService.append(OrderEventPayload.created(event.order()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleOrderStatusChanged(OrderStatusChangedEvent event) {
+
+        log.debug("Recording order-status-changed outbox event for order {}", event.order().getId());
+
+        outboxService.append(OrderEventPayload.statusChanged(event.order(), event.oldStatus()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleOrderCancelled(OrderCancelledEvent event) {
+
+        log.debug("Recording order-cancelled outbox event for order {}", event.order().getId());
+
+        outboxService.append(OrderEventPayload.cancelled(event.order(), event.oldStatus()));
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void handleOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+
+        log.debug("Recording {} order-status-changed outbox events", event.changes().size());
+
+        outboxService.appendAll(event.changes().stream()
+                .map(change -> OrderEventPayload.statusChanged(change.order(), change.oldStatus()))
+                .toList());
     }
 }
@@ -0,0 +1,353 @@
+package com.food.order.export;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import javax.sql.DataSource;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Streams orders and their items for a date range straight from a JDBC
+ * cursor to the response, archive tier first, then the hot tier.
+ *
+ * <p>Plain JDBC on purpose: no entities, no persistence context to grow,
+ * one reused row handler. Orders are joined to their items in SQL and
+ * grouped on the fly, which works because the result is ordered by
+ * {@code (created_at, id)} so an order's item rows are always adjacent.
+ * Heap use stays flat whatever the range size.
+ *
+ * <p>Both tiers are read in one read-only transaction, so an order the
+ * archiver moves mid-export is seen exactly once.
+ */
+@Component
+@Slf4j
+public class OrderExporter {
+
+    public enum Format { CSV, NDJSON }
+
+    public record Filter(LocalDateTime from, LocalDateTime to, Long customerId, Long restaurantId) {}
+
+    private static final String CSV_HEADER = "order_id,order_number,customer_id,restaurant_id,status,"
+            + "total_amount,created_at,updated_at,item_id,menu_item_id,quantity,unit_price,total_price\n";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate snapshot;
+    private final ObjectMapper objectMapper;
+    private final Semaphore slots;
+    private final Counter exportedOrders;
+    private final Timer exportTimer;
+
+    public OrderExporter(DataSource dataSource,
+                         PlatformTransactionManager transactionManager,
+                         ObjectMapper objectMapper,
+                         MeterRegistry meterRegistry,
+                         // MIN_VALUE makes Connector/J stream row by row; other drivers need a positive size
+                         @Value("${order.export.fetch-size:-2147483648}") int fetchSize,
+                         @Value("${order.export.max-concurrent:2}") int maxConcurrent) {
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.jdbcTemplate.setFetchSize(fetchSize);
+        this.snapshot = new TransactionTemplate(transactionManager);
+        this.snapshot.setReadOnly(true);
+        this.snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.objectMapper = objectMapper;
+        this.slots = new Semaphore(maxConcurrent);
+        this.exportedOrders = Counter.builder("order.export.orders")
+                .description("Orders written by exports")
+                .register(meterRegistry);
+        this.exportTimer = Timer.builder("order.export")
+                .description("Duration of a complete export")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Reserves one of the {@code order.export.max-concurrent} slots. Each
+     * export pins a pooled connection for its whole duration, so they are
+     * capped well below the pool size. The slot is released once, however
+     * many times it is closed.
+     *
+     * @throws ExportBusyException if all slots are in use
+     */
+    public Slot acquire() {
+        if (!slots.tryAcquire()) {
+            throw new ExportBusyException("Too many exports running, retry later");
+        }
+        AtomicBoolean released = new AtomicBoolean();
+        return () -> {
+            if (released.compareAndSet(false, true)) {
+                slots.release();
+            }
+        };
+    }
+
+    // Returns the number of orders written; does not close {@code out}
+    public long export(Filter filter, Format format, OutputStream out) throws IOException {
+        Timer.Sample sample = Timer.start();
+        RowWriter writer = format == Format.CSV ? new CsvWriter(out) : new NdjsonWriter(out);
+
+        writer.start();
+        snapshot.executeWithoutResult(status -> {
+            for (String[] tier : TIERS) {
+                query(tier[0], tier[1], filter, writer);
+            }
+        });
+        writer.finish();
+
+        sample.stop(exportTimer);
+        exportedOrders.increment(writer.orders);
+        log.info("Exported {} orders ({} rows) as {} | from={} to={} customerId={} restaurantId={}",
+                writer.orders, writer.rows, format, filter.from(), filter.to(), filter.customerId(), filter.restaurantId());
+        return writer.orders;
+    }
+
+    /* ---------- Query ---------- */
+
+    // {orders table, items table}; archive first as it holds the older orders
+    private static final String[][] TIERS = {
+            {"orders_archive", "order_items_archive"},
+            {"orders", "order_items"}
+    };
+
+    private void query(String ordersTable, String itemsTable, Filter filter, RowWriter writer) {
+        StringBuilder sql = new StringBuilder()
+                .append("SELECT o.id, o.order_number, o.customer_id, o.restaurant_id, o.status, o.total_amount, ")
+                .append("o.created_at, o.updated_at, i.id, i.menu_item_id, i.quantity, i.unit_price, i.total_price ")
+                .append("FROM ").append(ordersTable).append(" o ")
+                .append("LEFT JOIN ").append(itemsTable).append(" i ON i.order_id = o.id ")
+                .append("WHERE o.created_at >= ? AND o.created_at < ? ");
+
+        List<Object> args = new ArrayList<>(4);
+        args.add(Timestamp.valueOf(filter.from()));
+        args.add(Timestamp.valueOf(filter.to()));
+        if (filter.customerId() != null) {
+            sql.append("AND o.customer_id = ? ");
+            args.add(filter.customerId());
+        }
+        if (filter.restaurantId() != null) {
+            sql.append("AND o.restaurant_id = ? ");
+            args.add(filter.restaurantId());
+        }
+        // Served by the (…, created_at, id) indexes, so no sort buffer
+        sql.append("ORDER BY o.created_at, o.id");
+
+        jdbcTemplate.query(sql.toString(), writer, args.toArray());
+        writer.endOrder();
+    }
+
+    /* ---------- Writers ---------- */
+
+    /**
+     * Receives joined rows in order. Order columns repeat on every item
+     * row; a change of order id closes the previous order.
+     */
+    private abstract static class RowWriter implements RowCallbackHandler {
+
+        long orders;
+        long rows;
+        private long currentOrderId = Long.MIN_VALUE;
+
+        @Override
+        public void processRow(ResultSet rs) throws SQLException {
+            try {
+                long orderId = rs.getLong(1);
+                if (orderId != currentOrderId) {
+                    endOrder();
+                    currentOrderId = orderId;
+                    orders++;
+                    beginOrder(rs);
+                }
+                rs.getLong(9);
+                if (!rs.wasNull()) {
+                    rows++;
+                    item(rs);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        void endOrder() {
+            if (currentOrderId == Long.MIN_VALUE) {
+                return;
+            }
+            try {
+                closeOrder();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            currentOrderId = Long.MIN_VALUE;
+        }
+
+        abstract void start() throws IOException;
+
+        abstract void beginOrder(ResultSet rs) throws SQLException, IOException;
+
+        abstract void item(ResultSet rs) throws SQLException, IOException;
+
+        abstract void closeOrder() throws IOException;
+
+        abstract void finish() throws IOException;
+    }
+
+    // One line per item with the order columns repeated; fields never need quoting
+    private static final class CsvWriter extends RowWriter {
+
+        private final Writer out;
+        private final StringBuilder order = new StringBuilder(128);
+        private boolean hasItems;
+
+        CsvWriter(OutputStream out) {
+            this.out = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8), 64 * 1024);
+        }
+
+        @Override
+        void start() throws IOException {
+            out.write(CSV_HEADER);
+        }
+
+        @Override
+        void beginOrder(ResultSet rs) throws SQLException {
+            order.setLength(0);
+            order.append(rs.getLong(1)).append(',')
+                    .append(rs.getString(2)).append(',')
+                    .append(rs.getLong(3)).append(',')
+                    .append(rs.getLong(4)).append(',')
+                    .append(rs.getString(5)).append(',')
+                    .append(plain(rs.getBigDecimal(6))).append(',')
+                    .append(timestamp(rs.getTimestamp(7))).append(',')
+                    .append(timestamp(rs.getTimestamp(8))).append(',');
+            hasItems = false;
+        }
+
+        @Override
+        void item(ResultSet rs) throws SQLException, IOException {
+            out.append(order)
+                    .append(String.valueOf(rs.getLong(9))).append(',')
+                    .append(String.valueOf(rs.getLong(10))).append(',')
+                    .append(String.valueOf(rs.getInt(11))).append(',')
+                    .append(plain(rs.getBigDecimal(12))).append(',')
+                    .append(plain(rs.getBigDecimal(13))).append('\n');
+            hasItems = true;
+        }
+
+        // An order without items still gets its line
+        @Override
+        void closeOrder() throws IOException {
+            if (!hasItems) {
+                out.append(order).append(",,,,\n");
+            }
+        }
+
+        @Override
+        void finish() throws IOException {
+            out.flush();
+        }
+    }
+
+    // One JSON object per order with its items nested, written token by token
+    private final class NdjsonWriter extends RowWriter {
+
+        private final JsonGenerator json;
+
+        NdjsonWriter(OutputStream out) throws IOException {
+            this.json = objectMapper.getFactory().createGenerator(out);
+            this.json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+            // Lines are separated by writeRaw('\n') instead of the default space
+            this.json.setRootValueSeparator(null);
+        }
+
+        @Override
+        void start() {
+        }
+
+        @Override
+        void beginOrder(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(1));
+            json.writeStringField("orderNumber", rs.getString(2));
+            json.writeNumberField("customerId", rs.getLong(3));
+            json.writeNumberField("restaurantId", rs.getLong(4));
+            json.writeStringField("status", rs.getString(5));
+            json.writeNumberField("totalAmount", rs.getBigDecimal(6));
+            json.writeStringField("createdAt", timestamp(rs.getTimestamp(7)));
+            json.writeStringField("updatedAt", timestamp(rs.getTimestamp(8)));
+            json.writeArrayFieldStart("items");
+        }
+
+        @Override
+        void item(ResultSet rs) throws SQLException, IOException {
+            json.writeStartObject();
+            json.writeNumberField("id", rs.getLong(9));
+            json.writeNumberField("menuItemId", rs.getLong(10));
+            json.writeNumberField("quantity", rs.getInt(11));
+            json.writeNumberField("unitPrice", rs.getBigDecimal(12));
+            json.writeNumberField("totalPrice", rs.getBigDecimal(13));
+            json.writeEndObject();
+        }
+
+        @Override
+        void closeOrder() throws IOException {
+            json.writeEndArray();
+            json.writeEndObject();
+            json.writeRaw('\n');
+        }
+
+        @Override
+        void finish() throws IOException {
+            json.close();
+        }
+    }
+
+    private static String plain(BigDecimal amount) {
+        return amount == null ? "" : amount.toPlainString();
+    }
+
+    private static String timestamp(Timestamp timestamp) {
+        return timestamp == null ? null : timestamp.toLocalDateTime().toString();
+    }
+
+    /* ---------- Slots ---------- */
+
+    // Releases the export slot; closing it again does nothing
+    @FunctionalInterface
+    public interface Slot extends AutoCloseable {
+        @Override
+        void close();
+    }
+
+    /* ---------- Exceptions ---------- */
+
+    @ResponseStatus(HttpStatus.TOO_MANY_REQUESTS)
+    public static class ExportBusyException extends RuntimeException {
+        public ExportBusyException(String message) {
+            super(message);
+        }
+    }
+}
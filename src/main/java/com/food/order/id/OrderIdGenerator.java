@@ -0,0 +1,94 @@
+package com.food.order.id;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free, time-ordered 64-bit id generator (Snowflake layout):
+ *
+ * <pre>
+ *  0 | 41 bits ms since 2024-01-01 | 10 bits node | 12 bits sequence
+ * </pre>
+ *
+ * Ids from one node are strictly increasing; ids from different nodes never
+ * collide as long as every instance runs with its own {@code order.id.node-id}.
+ * The last issued (timestamp, sequence) pair lives in a single
+ * {@link AtomicLong} and advances by CAS. If the clock steps back or more
+ * than 4096 ids are requested in one millisecond, the generator keeps
+ * counting from the last timestamp and borrows the following milliseconds
+ * instead of blocking or repeating an id.
+ */
+@Component
+public class OrderIdGenerator {
+
+    public static final long EPOCH_MILLIS = Instant.parse("2024-01-01T00:00:00Z").toEpochMilli();
+
+    public static final int NODE_BITS = 10;
+    public static final int SEQUENCE_BITS = 12;
+    public static final long MAX_NODE_ID = (1L << NODE_BITS) - 1;
+
+    private static final int TIMESTAMP_SHIFT = NODE_BITS + SEQUENCE_BITS;
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    // Crockford base32: no I, L, O or U, so numbers read back unambiguously
+    private static final char[] BASE32 = "0123456789ABCDEFGHJKMNPQRSTVWXYZ".toCharArray();
+    private static final int ORDER_NUMBER_DIGITS = 13;
+
+    private final long nodeBits;
+    private final LongSupplier clock;
+
+    // (ms since epoch << SEQUENCE_BITS) | sequence of the last issued id
+    private final AtomicLong state = new AtomicLong();
+
+    @Autowired
+    public OrderIdGenerator(@Value("${order.id.node-id:0}") long nodeId) {
+        this(nodeId, System::currentTimeMillis);
+    }
+
+    public OrderIdGenerator(long nodeId, LongSupplier clock) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("order.id.node-id must be between 0 and " + MAX_NODE_ID);
+        }
+        this.nodeBits = nodeId << SEQUENCE_BITS;
+        this.clock = clock;
+    }
+
+    public long nextId() {
+        while (true) {
+            long last = state.get();
+            long now = clock.getAsLong() - EPOCH_MILLIS;
+            long next = now > (last >>> SEQUENCE_BITS) ? now << SEQUENCE_BITS : last + 1;
+            if (state.compareAndSet(last, next)) {
+                return (next >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT | nodeBits | (next & SEQUENCE_MASK);
+            }
+        }
+    }
+
+    /**
+     * Customer-facing order number for an id: {@code ORD-} followed by the
+     * id in fixed-width Crockford base32. Unique because the id is, and
+     * sorts in creation order.
+     */
+    public static String orderNumber(long id) {
+        char[] digits = new char[ORDER_NUMBER_DIGITS];
+        long value = id;
+        for (int i = ORDER_NUMBER_DIGITS - 1; i >= 0; i--) {
+            digits[i] = BASE32[(int) (value & 31)];
+            value >>>= 5;
+        }
+        return "ORD-" + new String(digits);
+    }
+
+    public static Instant timestampOf(long id) {
+        return Instant.ofEpochMilli((id >>> TIMESTAMP_SHIFT) + EPOCH_MILLIS);
+    }
+
+    public static long nodeOf(long id) {
+        return (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+}
@@ -0,0 +1,405 @@
+package com.food.order.kafka;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Local append-only spool for events that could not be handed to Kafka.
+ * Records live in fixed-size memory-mapped segment files as
+ * {@code [int length][int crc32][payload]}; a zero length marks the end of
+ * written data. A checkpoint file holds the read position, and fully
+ * consumed segments are deleted, so disk use is bounded by
+ * {@code max-segments * segment-size-bytes}.
+ *
+ * <p>On startup every segment is scanned and the tail is cut at the first
+ * record whose length or checksum does not hold, which discards a write
+ * torn by a crash.
+ */
+@Component
+@Slf4j
+public class EventSpool {
+
+    private static final int HEADER_LENGTH = 8;
+    private static final int CHECKPOINT_LENGTH = 12;
+    private static final String SEGMENT_PREFIX = "segment-";
+    private static final String SEGMENT_SUFFIX = ".spool";
+
+    private final Path directory;
+    private final boolean requirePersistentDirectory;
+    private final int segmentSize;
+    private final int maxSegments;
+    private final MeterRegistry meterRegistry;
+
+    private final TreeMap<Long, Segment> segments = new TreeMap<>();
+    private final AtomicLong depth = new AtomicLong();
+
+    private FileChannel checkpoint;
+    private long readSegment;
+    private int readOffset;
+
+    private Counter appendedCounter;
+    private Counter drainedCounter;
+    private Counter rejectedCounter;
+
+    public EventSpool(@Value("${order.spool.directory}") String directory,
+                      @Value("${order.spool.require-persistent-directory:false}") boolean requirePersistentDirectory,
+                      @Value("${order.spool.segment-size-bytes:67108864}") int segmentSize,
+                      @Value("${order.spool.max-segments:16}") int maxSegments,
+                      MeterRegistry meterRegistry) {
+        this.directory = Paths.get(directory);
+        this.requirePersistentDirectory = requirePersistentDirectory;
+        this.segmentSize = segmentSize;
+        this.maxSegments = maxSegments;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /* ---------- Lifecycle ---------- */
+
+    @PostConstruct
+    synchronized void open() throws IOException {
+
+        // A spool that is wiped with the container loses exactly the events it exists to keep
+        if (requirePersistentDirectory && isTemporary(directory)) {
+            throw new IllegalStateException("order.spool.directory " + directory
+                    + " is under java.io.tmpdir; point it at persistent storage");
+        }
+
+        Files.createDirectories(directory);
+        checkpoint = FileChannel.open(directory.resolve("checkpoint"),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+
+        for (long id : segmentIds()) {
+            segments.put(id, openSegment(id));
+        }
+
+        readCheckpoint();
+        recover();
+        registerMetrics();
+
+        log.info("Event spool opened | directory={} | segments={} | pending={}",
+                directory, segments.size(), depth.get());
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        for (Segment segment : segments.values()) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+        checkpoint.close();
+    }
+
+    /* ---------- Writes ---------- */
+
+    /**
+     * Appends one record and forces it to disk. Returns false when the spool
+     * is full, the disk fails or the record does not fit in a segment, in
+     * which case the caller keeps the event.
+     */
+    public synchronized boolean append(byte[] record) {
+
+        int length = HEADER_LENGTH + record.length;
+        if (length > segmentSize) {
+            log.warn("Event spool refused oversize record | bytes={} | segmentSize={}", record.length, segmentSize);
+            rejectedCounter.increment();
+            return false;
+        }
+
+        try {
+            Segment tail = segments.lastEntry().getValue();
+            if (tail.writePosition + length > segmentSize) {
+                if (segments.size() >= maxSegments) {
+                    rejectedCounter.increment();
+                    return false;
+                }
+                tail = openSegment(tail.id + 1);
+                segments.put(tail.id, tail);
+            }
+
+            int position = tail.writePosition;
+            MappedByteBuffer buffer = tail.buffer;
+
+            // Length goes in last: until it is written the slot still reads as
+            // end-of-data, and the checksum catches a partially flushed record.
+            buffer.put(position + HEADER_LENGTH, record);
+            buffer.putInt(position + 4, checksum(record));
+            buffer.putInt(position, record.length);
+            buffer.force(position, length);
+
+            tail.writePosition = position + length;
+            depth.incrementAndGet();
+            appendedCounter.increment();
+            return true;
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Event spool append failed", e);
+            rejectedCounter.increment();
+            return false;
+        }
+    }
+
+    /* ---------- Reads ---------- */
+
+    public boolean isEmpty() {
+        return depth.get() == 0;
+    }
+
+    public long depth() {
+        return depth.get();
+    }
+
+    /**
+     * Returns up to {@code max} records from the read position, oldest first,
+     * without consuming them; see {@link #commit(Batch, int)}.
+     */
+    public synchronized Batch peek(int max) {
+
+        List<byte[]> records = new ArrayList<>();
+        List<long[]> positions = new ArrayList<>();
+
+        long segmentId = readSegment;
+        int offset = readOffset;
+
+        while (records.size() < max) {
+            Segment segment = segments.get(segmentId);
+            if (segment == null) {
+                break;
+            }
+            if (offset + HEADER_LENGTH > segment.writePosition) {
+                Long next = segments.higherKey(segmentId);
+                if (next == null) {
+                    break;
+                }
+                segmentId = next;
+                offset = 0;
+                continue;
+            }
+
+            byte[] record = new byte[segment.buffer.getInt(offset)];
+            segment.buffer.get(offset + HEADER_LENGTH, record);
+            offset += HEADER_LENGTH + record.length;
+
+            records.add(record);
+            positions.add(new long[]{segmentId, offset});
+        }
+
+        return new Batch(records, positions);
+    }
+
+    /**
+     * Consumes the first {@code count} records of a batch returned by
+     * {@link #peek(int)} and deletes segments that are fully read.
+     */
+    public synchronized void commit(Batch batch, int count) {
+
+        if (count == 0) {
+            return;
+        }
+
+        long[] position = batch.positions().get(count - 1);
+        readSegment = position[0];
+        readOffset = (int) position[1];
+
+        while (segments.firstKey() < readSegment) {
+            Segment consumed = segments.pollFirstEntry().getValue();
+            try {
+                consumed.channel.close();
+                Files.deleteIfExists(consumed.path);
+            } catch (IOException e) {
+                log.warn("Could not delete consumed spool segment {}", consumed.path, e);
+            }
+        }
+
+        writeCheckpoint();
+        depth.addAndGet(-count);
+        drainedCounter.increment(count);
+    }
+
+    public record Batch(List<byte[]> records, List<long[]> positions) {
+
+        public int size() {
+            return records.size();
+        }
+    }
+
+    /* ---------- Recovery ---------- */
+
+    private void recover() throws IOException {
+
+        if (segments.isEmpty()) {
+            long first = Math.max(readSegment, 1);
+            segments.put(first, openSegment(first));
+        }
+
+        // Segments before the checkpoint were consumed but not yet deleted
+        while (segments.size() > 1 && segments.firstKey() < readSegment) {
+            Segment consumed = segments.pollFirstEntry().getValue();
+            consumed.channel.close();
+            Files.deleteIfExists(consumed.path);
+        }
+
+        if (!segments.containsKey(readSegment)) {
+            readSegment = segments.firstKey();
+            readOffset = 0;
+        }
+
+        long pending = 0;
+        for (Segment segment : segments.values()) {
+            int end = scan(segment);
+            if (segment.id == segments.lastKey()) {
+                // Wipe anything after the last good record so new appends
+                // never sit in front of stale bytes.
+                for (int i = end; i < segmentSize && i < end + HEADER_LENGTH; i++) {
+                    segment.buffer.put(i, (byte) 0);
+                }
+                segment.buffer.force();
+            }
+            segment.writePosition = end;
+
+            if (segment.id >= readSegment) {
+                pending += countRecords(segment, segment.id == readSegment ? readOffset : 0);
+            }
+        }
+
+        depth.set(pending);
+    }
+
+    // Offset just past the last record with a valid length and checksum
+    private int scan(Segment segment) {
+        MappedByteBuffer buffer = segment.buffer;
+        int position = 0;
+        CRC32 crc = new CRC32();
+        while (position + HEADER_LENGTH <= segmentSize) {
+            int length = buffer.getInt(position);
+            if (length <= 0 || position + HEADER_LENGTH + length > segmentSize) {
+                break;
+            }
+            crc.reset();
+            crc.update(buffer.slice(position + HEADER_LENGTH, length));
+            if ((int) crc.getValue() != buffer.getInt(position + 4)) {
+                log.warn("Discarding torn spool record | segment={} | offset={}", segment.path, position);
+                break;
+            }
+            position += HEADER_LENGTH + length;
+        }
+        return position;
+    }
+
+    private long countRecords(Segment segment, int from) {
+        long count = 0;
+        int position = from;
+        while (position + HEADER_LENGTH <= segment.writePosition) {
+            position += HEADER_LENGTH + segment.buffer.getInt(position);
+            count++;
+        }
+        return count;
+    }
+
+    /* ---------- Files ---------- */
+
+    private static boolean isTemporary(Path directory) {
+        Path tmp = Paths.get(System.getProperty("java.io.tmpdir")).toAbsolutePath().normalize();
+        return directory.toAbsolutePath().normalize().startsWith(tmp);
+    }
+
+    private List<Long> segmentIds() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(path -> path.getFileName().toString())
+                    .filter(name -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX))
+                    .map(name -> Long.parseLong(name.substring(SEGMENT_PREFIX.length(),
+                            name.length() - SEGMENT_SUFFIX.length())))
+                    .sorted()
+                    .toList();
+        }
+    }
+
+    private Segment openSegment(long id) throws IOException {
+        Path path = directory.resolve(String.format("%s%020d%s", SEGMENT_PREFIX, id, SEGMENT_SUFFIX));
+        FileChannel channel = FileChannel.open(path,
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentSize);
+        return new Segment(id, path, channel, buffer);
+    }
+
+    private void readCheckpoint() throws IOException {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_LENGTH);
+        if (checkpoint.read(buffer, 0) == CHECKPOINT_LENGTH) {
+            buffer.flip();
+            readSegment = buffer.getLong();
+            readOffset = buffer.getInt();
+        }
+    }
+
+    private void writeCheckpoint() {
+        ByteBuffer buffer = ByteBuffer.allocate(CHECKPOINT_LENGTH)
+                .putLong(readSegment)
+                .putInt(readOffset)
+                .flip();
+        try {
+            checkpoint.write(buffer, 0);
+            checkpoint.force(false);
+        } catch (IOException e) {
+            // Worst case after a crash: records since the last good
+            // checkpoint are replayed again (at-least-once).
+            log.warn("Could not write spool checkpoint", e);
+        }
+    }
+
+    private static int checksum(byte[] record) {
+        CRC32 crc = new CRC32();
+        crc.update(record);
+        return (int) crc.getValue();
+    }
+
+    private void registerMetrics() {
+        Gauge.builder("order.spool.depth", depth, AtomicLong::get)
+                .description("Events waiting in the local spool")
+                .register(meterRegistry);
+        appendedCounter = Counter.builder("order.spool.appended")
+                .description("Events written to the local spool")
+                .register(meterRegistry);
+        drainedCounter = Counter.builder("order.spool.drained")
+                .description("Spooled events replayed to Kafka")
+                .register(meterRegistry);
+        rejectedCounter = Counter.builder("order.spool.rejected")
+                .description("Events refused because the spool was full, failed or the event exceeded a segment")
+                .register(meterRegistry);
+    }
+
+    private static final class Segment {
+
+        private final long id;
+        private final Path path;
+        private final FileChannel channel;
+        private final MappedByteBuffer buffer;
+        private int writePosition;
+
+        private Segment(long id, Path path, FileChannel channel, MappedByteBuffer buffer) {
+            this.id = id;
+            this.path = path;
+            this.channel = channel;
+            this.buffer = buffer;
+        }
+    }
+}
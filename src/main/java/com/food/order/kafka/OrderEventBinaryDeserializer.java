@@ -0,0 +1,12 @@
+package com.food.order.kafka;
+
+import com.food.order.event.OrderEventPayload;
+import org.apache.kafka.common.serialization.Deserializer;
+
+public class OrderEventBinaryDeserializer implements Deserializer<OrderEventPayload> {
+
+    @Override
+    public OrderEventPayload deserialize(String topic, byte[] data) {
+        return data == null ? null : OrderEventCodec.decode(data);
+    }
+}
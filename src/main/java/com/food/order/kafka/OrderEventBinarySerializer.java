@@ -0,0 +1,12 @@
+package com.food.order.kafka;
+
+import com.food.order.event.OrderEventPayload;
+import org.apache.kafka.common.serialization.Serializer;
+
+public class OrderEventBinarySerializer implements Serializer<OrderEventPayload> {
+
+    @Override
+    public byte[] serialize(String topic, OrderEventPayload data) {
+        return data == null ? null : OrderEventCodec.encode(data);
+    }
+}
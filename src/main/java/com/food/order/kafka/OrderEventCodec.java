@@ -0,0 +1,191 @@
+package com.food.order.kafka;
+
+import com.food.order.event.OrderEventPayload;
+import com.food.order.event.OrderEventType;
+import com.food.order.model.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * Compact binary encoding of {@link OrderEventPayload}. Fixed-width fields
+ * first, the variable-length order number last:
+ *
+ * <pre>
+ *  0  byte   magic (0x4F)
+ *  1  byte   schema version
+ *  2  byte   event type            (OrderEventType ordinal)
+ *  3  byte   status                (OrderStatus ordinal, -1 = null)
+ *  4  byte   previous status       (OrderStatus ordinal, -1 = null)
+ *  5  long   order id              (Long.MIN_VALUE = null)
+ * 13  long   customer id           (Long.MIN_VALUE = null)
+ * 21  long   restaurant id         (Long.MIN_VALUE = null)
+ * 29  long   total, unscaled value
+ * 37  byte   total, scale          (-128 = null)
+ * 38  long   occurredAt, epoch s   (Long.MIN_VALUE = null)
+ * 46  int    occurredAt, nanos
+ * 50  short  order number length   (-1 = null), then UTF-8 bytes
+ * </pre>
+ *
+ * Enum ordinals are part of the format, so constants may only be appended.
+ */
+public final class OrderEventCodec {
+
+    public static final byte MAGIC = 0x4F;
+
+    private static final int FIXED_LENGTH = 52;
+    private static final long NULL_LONG = Long.MIN_VALUE;
+    private static final byte NULL_BYTE = -1;
+    private static final byte NULL_SCALE = Byte.MIN_VALUE;
+
+    private static final OrderEventType[] EVENT_TYPES = OrderEventType.values();
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private OrderEventCodec() {
+    }
+
+    public static byte[] encode(OrderEventPayload event) {
+
+        // This is the layout of the current version only; writing another
+        // version's payload in it would mislabel it for every reader
+        if (event.version() != OrderEventPayload.CURRENT_VERSION) {
+            throw new SerializationException("Cannot encode order event version " + event.version()
+                    + " (binary layout is version " + OrderEventPayload.CURRENT_VERSION + ")");
+        }
+
+        byte[] orderNumber = event.orderNumber() == null
+                ? null
+                : event.orderNumber().getBytes(StandardCharsets.UTF_8);
+
+        ByteBuffer buffer = ByteBuffer.allocate(FIXED_LENGTH + (orderNumber == null ? 0 : orderNumber.length));
+
+        buffer.put(MAGIC);
+        buffer.put((byte) event.version());
+        buffer.put((byte) event.eventType().ordinal());
+        buffer.put(ordinal(event.status()));
+        buffer.put(ordinal(event.previousStatus()));
+        buffer.putLong(orNull(event.orderId()));
+        buffer.putLong(orNull(event.customerId()));
+        buffer.putLong(orNull(event.restaurantId()));
+        putAmount(buffer, event.totalAmount());
+        putTimestamp(buffer, event.occurredAt());
+
+        if (orderNumber == null) {
+            buffer.putShort((short) -1);
+        } else {
+            buffer.putShort((short) orderNumber.length);
+            buffer.put(orderNumber);
+        }
+
+        return buffer.array();
+    }
+
+    public static OrderEventPayload decode(byte[] data) {
+        try {
+            ByteBuffer buffer = ByteBuffer.wrap(data);
+
+            if (buffer.get() != MAGIC) {
+                throw new SerializationException("Not a binary order event (bad magic byte)");
+            }
+            int version = buffer.get();
+            if (version != OrderEventPayload.CURRENT_VERSION) {
+                throw new SerializationException("Unsupported order event version: " + version);
+            }
+
+            OrderEventType eventType = eventType(buffer.get());
+            OrderStatus status = status(buffer.get());
+            OrderStatus previousStatus = status(buffer.get());
+            Long orderId = nullable(buffer.getLong());
+            Long customerId = nullable(buffer.getLong());
+            Long restaurantId = nullable(buffer.getLong());
+            BigDecimal totalAmount = getAmount(buffer);
+            LocalDateTime occurredAt = getTimestamp(buffer);
+
+            short length = buffer.getShort();
+            String orderNumber = null;
+            if (length >= 0) {
+                if (length > buffer.remaining()) {
+                    throw new BufferUnderflowException();
+                }
+                orderNumber = new String(data, buffer.position(), length, StandardCharsets.UTF_8);
+            }
+
+            return new OrderEventPayload(version, eventType, orderId, orderNumber, customerId,
+                    restaurantId, status, previousStatus, totalAmount, occurredAt);
+        } catch (BufferUnderflowException e) {
+            throw new SerializationException("Truncated binary order event", e);
+        }
+    }
+
+    private static void putAmount(ByteBuffer buffer, BigDecimal amount) {
+        if (amount == null) {
+            buffer.putLong(0);
+            buffer.put(NULL_SCALE);
+            return;
+        }
+        BigInteger unscaled = amount.unscaledValue();
+        if (unscaled.bitLength() > 63 || amount.scale() < 0 || amount.scale() > Byte.MAX_VALUE) {
+            throw new SerializationException("Amount out of range for binary encoding: " + amount);
+        }
+        buffer.putLong(unscaled.longValue());
+        buffer.put((byte) amount.scale());
+    }
+
+    private static BigDecimal getAmount(ByteBuffer buffer) {
+        long unscaled = buffer.getLong();
+        byte scale = buffer.get();
+        return scale == NULL_SCALE ? null : BigDecimal.valueOf(unscaled, scale);
+    }
+
+    private static void putTimestamp(ByteBuffer buffer, LocalDateTime timestamp) {
+        if (timestamp == null) {
+            buffer.putLong(NULL_LONG);
+            buffer.putInt(0);
+            return;
+        }
+        buffer.putLong(timestamp.toEpochSecond(ZoneOffset.UTC));
+        buffer.putInt(timestamp.getNano());
+    }
+
+    private static LocalDateTime getTimestamp(ByteBuffer buffer) {
+        long seconds = buffer.getLong();
+        int nanos = buffer.getInt();
+        return seconds == NULL_LONG ? null : LocalDateTime.ofEpochSecond(seconds, nanos, ZoneOffset.UTC);
+    }
+
+    private static byte ordinal(OrderStatus status) {
+        return status == null ? NULL_BYTE : (byte) status.ordinal();
+    }
+
+    private static OrderEventType eventType(byte ordinal) {
+        if (ordinal < 0 || ordinal >= EVENT_TYPES.length) {
+            throw new SerializationException("Unknown order event type ordinal: " + ordinal);
+        }
+        return EVENT_TYPES[ordinal];
+    }
+
+    // An ordinal past the end was written by a newer release that appended a constant
+    private static OrderStatus status(byte ordinal) {
+        if (ordinal == NULL_BYTE) {
+            return null;
+        }
+        if (ordinal < 0 || ordinal >= STATUSES.length) {
+            throw new SerializationException("Unknown order status ordinal: " + ordinal);
+        }
+        return STATUSES[ordinal];
+    }
+
+    private static long orNull(Long value) {
+        return value == null ? NULL_LONG : value;
+    }
+
+    private static Long nullable(long value) {
+        return value == NULL_LONG ? null : value;
+    }
+}
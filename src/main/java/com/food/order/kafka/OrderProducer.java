@@ -1,12 +1,23 @@
 package com.food.order.kafka;
 
-import com.food.order.model.Order;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.logging.OrderLogSampler;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.kafka.core.KafkaTemplate;
 import org.springframework.kafka.support.SendResult;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
 @Component
 @RequiredArgsConstructor
 @Slf4j
@@ -15,93 +26,114 @@ public class OrderProducer {
     private static final String ORDER_CREATED_TOPIC = "order.created";
     private static final String ORDER_STATUS_CHANGED_TOPIC = "order.status.changed";
     private static final String ORDER_CANCELLED_TOPIC = "order.cancelled";
-    
 
     private final KafkaTemplate<String, Object> kafkaTemplate;
+    private final MeterRegistry meterRegistry;
+    private final OrderLogSampler orderLogSampler;
 
-    // -------------------------------
-    // Order Created
-    // -------------------------------
-    public void sendOrderCreatedEvent(Order order) {
+    // topic -> meters, registered once so a send never looks them up in the registry
+    private final Map<String, TopicMeters> meters = new HashMap<>();
 
-        kafkaTemplate.send(
-                ORDER_CREATED_TOPIC,
-                order.getId().toString(),
-                order
-        ).whenComplete((result, ex) -> {
+    @PostConstruct
+    void registerMetrics() {
+        for (String topic : new String[]{ORDER_CREATED_TOPIC, ORDER_STATUS_CHANGED_TOPIC, ORDER_CANCELLED_TOPIC}) {
+            meters.put(topic, new TopicMeters(
+                    sendTimer(topic, "success"),
+                    sendTimer(topic, "failure"),
+                    Counter.builder("order.kafka.send.failures")
+                            .description("Sends that failed after the producer's retries")
+                            .tag("topic", topic)
+                            .register(meterRegistry)));
+        }
+    }
 
-            if (ex == null) {
-                log.info(
-                    "Kafka order-created event sent | orderId={} | topic={} | partition={} | offset={}",
-                    order.getId(),
-                    result.getRecordMetadata().topic(),
-                    result.getRecordMetadata().partition(),
-                    result.getRecordMetadata().offset()
-                );
-            } else {
-                log.error(
-                    "Failed to send order-created event | orderId={}",
-                    order.getId(),
-                    ex
-                );
-            }
-        });
+    // Send to broker acknowledgement, including batching (linger) and retries
+    private Timer sendTimer(String topic, String outcome) {
+        return Timer.builder("order.kafka.send")
+                .description("Kafka send latency until acknowledged")
+                .tag("topic", topic)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
     }
 
+    private record TopicMeters(Timer success, Timer failure, Counter failures) {}
+
     // -------------------------------
-    // Order Status Changed
+    // Routing by event type
     // -------------------------------
-    public void sendOrderStatusChangedEvent(Object event, String orderId) {
+    public CompletableFuture<SendResult<String, Object>> send(OrderEventPayload event) {
+        return switch (event.eventType()) {
+            case CREATED -> sendOrderCreatedEvent(event);
+            case STATUS_CHANGED -> sendOrderStatusChangedEvent(event);
+            case CANCELLED -> sendOrderCancelledEvent(event);
+        };
+    }
 
-        kafkaTemplate.send(
-                ORDER_STATUS_CHANGED_TOPIC,
-                orderId,
-                event
-        ).whenComplete((result, ex) -> {
+    // -------------------------------
+    // Order Created
+    // -------------------------------
+    public CompletableFuture<SendResult<String, Object>> sendOrderCreatedEvent(OrderEventPayload event) {
+        return send(ORDER_CREATED_TOPIC, "order-created", event);
+    }
 
-            if (ex == null) {
-                log.info(
-                    "Kafka order-status-changed event sent | orderId={} | topic={} | partition={} | offset={}",
-                    orderId,
-                    result.getRecordMetadata().topic(),
-                    result.getRecordMetadata().partition(),
-                    result.getRecordMetadata().offset()
-                );
-            } else {
-                log.error(
-                    "Failed to send order-status-changed event | orderId={}",
-                    orderId,
-                    ex
-                );
-            }
-        });
+    // -------------------------------
+    // Order Status Changed
+    // -------------------------------
+    public CompletableFuture<SendResult<String, Object>> sendOrderStatusChangedEvent(OrderEventPayload event) {
+        return send(ORDER_STATUS_CHANGED_TOPIC, "order-status-changed", event);
     }
 
     // -------------------------------
     // Order Cancelled
     // -------------------------------
-    public void sendOrderCancelledEvent(Object event, String orderId) {
+    public CompletableFuture<SendResult<String, Object>> sendOrderCancelledEvent(OrderEventPayload event) {
+        return send(ORDER_CANCELLED_TOPIC, "order-cancelled", event);
+    }
+
+    private CompletableFuture<SendResult<String, Object>> send(String topic,
+                                                              String eventName,
+                                                              OrderEventPayload event) {
+
+        String orderId = event.orderId().toString();
+        TopicMeters topicMeters = meters.get(topic);
+        long started = System.nanoTime();
+
+        CompletableFuture<SendResult<String, Object>> future;
+        try {
+            future = kafkaTemplate.send(topic, orderId, event);
+        } catch (RuntimeException e) {
+            // e.g. metadata or buffer space not available within max.block.ms
+            topicMeters.failure().record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            topicMeters.failures().increment();
+            throw e;
+        }
 
-        kafkaTemplate.send(
-                ORDER_CANCELLED_TOPIC,
-                orderId,
-                event
-        ).whenComplete((result, ex) -> {
+        return future.whenComplete((result, ex) -> {
 
+            long elapsed = System.nanoTime() - started;
             if (ex == null) {
-                log.info(
-                    "Kafka order-cancelled event sent | orderId={} | topic={} | partition={} | offset={}",
-                    orderId,
-                    result.getRecordMetadata().topic(),
-                    result.getRecordMetadata().partition(),
-                    result.getRecordMetadata().offset()
-                );
+                topicMeters.success().record(elapsed, TimeUnit.NANOSECONDS);
+                // Completes on the producer I/O thread, which carries no sampling MDC
+                if (orderLogSampler.isSampled(event.orderId())) {
+                    log.atInfo()
+                            .addKeyValue("event", eventName)
+                            .addKeyValue("orderId", orderId)
+                            .addKeyValue("topic", result.getRecordMetadata().topic())
+                            .addKeyValue("partition", result.getRecordMetadata().partition())
+                            .addKeyValue("offset", result.getRecordMetadata().offset())
+                            .log("Kafka event sent");
+                }
             } else {
-                log.error(
-                    "Failed to send order-cancelled event | orderId={}",
-                    orderId,
-                    ex
-                );
+                topicMeters.failure().record(elapsed, TimeUnit.NANOSECONDS);
+                topicMeters.failures().increment();
+                log.atError()
+                        .addKeyValue("event", eventName)
+                        .addKeyValue("orderId", orderId)
+                        .setCause(ex)
+                        .log("Kafka event send failed");
             }
         });
     }
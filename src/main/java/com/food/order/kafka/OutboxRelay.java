@@ -0,0 +1,319 @@
+package com.food.order.kafka;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.event.OrderEventType;
+import com.food.order.model.OutboxEvent;
+import com.food.order.repository.OutboxEventRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Limit;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Drains the transactional outbox to Kafka. Each batch is read in a short
+ * transaction of its own and sent with no transaction or connection held:
+ * all sends are issued before the batch awaits them under one deadline, so
+ * the producer can pipeline them, and the delivered rows are then marked in
+ * one UPDATE. A crash between send and mark resends the batch
+ * (at-least-once).
+ * Rows are claimed only once they are older than the coalescing window,
+ * and consecutive status changes of one order are sent as one message.
+ *
+ * <p>Events Kafka does not accept are moved to the {@link EventSpool}, and
+ * while the spool holds anything every new event queues behind it, so
+ * {@link SpoolDrainer} replays them in their original order.
+ *
+ * <p>Only one instance relays at a time, see {@link RelayLeadership}.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxRelay {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final OrderProducer orderProducer;
+    private final EventSpool eventSpool;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry meterRegistry;
+    private final RelayLeadership relayLeadership;
+
+    @Value("${order.outbox.batch-size:200}")
+    private int batchSize;
+
+    @Value("${order.outbox.coalesce-window-ms:250}")
+    private long coalesceWindowMs;
+
+    @Value("${order.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Value("${order.outbox.retention-hours:24}")
+    private long retentionHours;
+
+    private final AtomicLong lagMillis = new AtomicLong();
+
+    private Counter publishedCounter;
+    private Counter failedCounter;
+    private Counter coalescedCounter;
+    private Timer batchTimer;
+
+    @PostConstruct
+    void registerMetrics() {
+        publishedCounter = Counter.builder("order.outbox.published")
+                .description("Outbox events delivered to Kafka")
+                .register(meterRegistry);
+        failedCounter = Counter.builder("order.outbox.failed")
+                .description("Outbox events whose Kafka send failed or timed out")
+                .register(meterRegistry);
+        coalescedCounter = Counter.builder("order.outbox.coalesced")
+                .description("Status-change events folded into a later one for the same order")
+                .register(meterRegistry);
+        batchTimer = Timer.builder("order.outbox.batch")
+                .description("Time to claim, send and mark one outbox batch")
+                .register(meterRegistry);
+        Gauge.builder("order.outbox.lag", lagMillis, AtomicLong::get)
+                .description("Age of the oldest undelivered outbox event at the last poll")
+                .baseUnit("milliseconds")
+                .register(meterRegistry);
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.poll-interval-ms:200}")
+    public void relay() {
+        Relayed relayed;
+        do {
+            if (!relayLeadership.holdLease()) {
+                return;
+            }
+            Timer.Sample sample = Timer.start(meterRegistry);
+            relayed = relayBatch();
+            sample.stop(batchTimer);
+            // A full batch that went out completely suggests more is pending;
+            // anything left behind (broker down, spool full) waits for the next poll
+        } while (relayed.claimed() == batchSize && relayed.published() == relayed.claimed());
+    }
+
+    @Scheduled(fixedDelayString = "${order.outbox.purge-interval-ms:3600000}")
+    public void purgePublished() {
+        LocalDateTime before = LocalDateTime.now().minusHours(retentionHours);
+        Integer purged = transactionTemplate.execute(status ->
+                outboxEventRepository.deletePublishedBefore(before));
+        log.info("Purged {} published outbox events older than {}", purged, before);
+    }
+
+    private Relayed relayBatch() {
+
+        // Rows younger than the window are left for the next poll so that a
+        // burst of transitions for one order lands in the same batch.
+        LocalDateTime claimBefore = LocalDateTime.now().minus(Duration.ofMillis(coalesceWindowMs));
+        List<OutboxEvent> batch = transactionTemplate.execute(status ->
+                outboxEventRepository.findPending(claimBefore, Limit.of(batchSize)));
+
+        if (batch == null || batch.isEmpty()) {
+            lagMillis.set(0);
+            return new Relayed(0, 0);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        lagMillis.set(Duration.between(batch.get(0).getCreatedAt(), now).toMillis());
+
+        List<Outgoing> outgoing = coalesce(batch);
+
+        if (!eventSpool.isEmpty()) {
+            // The broker was unhealthy recently; queue behind the spooled
+            // events instead of overtaking them.
+            List<Long> spooled = spool(outgoing);
+            int marked = markPublished(spooled, now);
+            log.debug("Outbox batch spooled | claimed={} | spooled={}", batch.size(), spooled.size());
+            return new Relayed(batch.size(), marked);
+        }
+
+        List<CompletableFuture<?>> sends = sendAll(outgoing);
+        awaitAll(sends);
+
+        // A failed send blocks later events of the same order in this batch so
+        // they are spooled (or retried) together and keep their original order.
+        List<Long> delivered = new ArrayList<>(batch.size());
+        List<Outgoing> undelivered = new ArrayList<>();
+        Set<Long> blockedOrders = new HashSet<>();
+
+        for (int i = 0; i < outgoing.size(); i++) {
+            Outgoing message = outgoing.get(i);
+            boolean sent = i < sends.size() && delivered(sends.get(i));
+
+            if (sent && !blockedOrders.contains(message.orderId())) {
+                delivered.addAll(message.rowIds());
+            } else {
+                blockedOrders.add(message.orderId());
+                undelivered.add(message);
+            }
+        }
+
+        publishedCounter.increment(outgoing.size() - undelivered.size());
+        failedCounter.increment(undelivered.size());
+
+        if (!undelivered.isEmpty()) {
+            log.warn("Outbox events not delivered | messages={} | undelivered={} | notSent={}",
+                    outgoing.size(), undelivered.size(), outgoing.size() - sends.size());
+        }
+
+        // Whatever the spool takes is off the outbox; the rest (spool full or
+        // failing) stays pending and is claimed again on the next poll.
+        delivered.addAll(spool(undelivered));
+        int marked = markPublished(delivered, now);
+
+        log.debug("Outbox batch relayed | claimed={} | messages={} | undelivered={}",
+                batch.size(), outgoing.size(), undelivered.size());
+
+        return new Relayed(batch.size(), marked);
+    }
+
+    /**
+     * Collapses back-to-back status changes of the same order into one
+     * message carrying the first previous status and the latest status, e.g.
+     * CONFIRMED&rarr;PREPARING, PREPARING&rarr;READY_FOR_PICKUP becomes
+     * CONFIRMED&rarr;READY_FOR_PICKUP. Any other event for the order ends the
+     * run, and the merged message keeps the position of the first one, so
+     * per-order ordering is unchanged.
+     */
+    private List<Outgoing> coalesce(List<OutboxEvent> batch) {
+
+        List<Outgoing> outgoing = new ArrayList<>(batch.size());
+        Map<Long, Integer> openRuns = new HashMap<>();
+
+        for (OutboxEvent outboxEvent : batch) {
+            Long orderId = outboxEvent.getAggregateId();
+            OrderEventPayload event = read(outboxEvent);
+
+            Integer run = event != null && event.eventType() == OrderEventType.STATUS_CHANGED
+                    ? openRuns.get(orderId)
+                    : null;
+
+            if (run != null) {
+                Outgoing first = outgoing.get(run);
+                List<Long> rowIds = new ArrayList<>(first.rowIds());
+                rowIds.add(outboxEvent.getId());
+                outgoing.set(run, new Outgoing(orderId,
+                        event.withPreviousStatus(first.event().previousStatus()), rowIds));
+                coalescedCounter.increment();
+                continue;
+            }
+
+            outgoing.add(new Outgoing(orderId, event, List.of(outboxEvent.getId())));
+
+            if (event != null && event.eventType() == OrderEventType.STATUS_CHANGED) {
+                openRuns.put(orderId, outgoing.size() - 1);
+            } else {
+                openRuns.remove(orderId);
+            }
+        }
+
+        return outgoing;
+    }
+
+    // Row ids of the messages handed to the spool, stopping at the first one it refuses
+    private List<Long> spool(List<Outgoing> messages) {
+        List<Long> spooled = new ArrayList<>();
+        for (Outgoing message : messages) {
+            if (message.event() != null && !eventSpool.append(OrderEventCodec.encode(message.event()))) {
+                break;
+            }
+            spooled.addAll(message.rowIds());
+        }
+        return spooled;
+    }
+
+    private int markPublished(List<Long> rowIds, LocalDateTime publishedAt) {
+        if (rowIds.isEmpty()) {
+            return 0;
+        }
+        Integer marked = transactionTemplate.execute(status ->
+                outboxEventRepository.markPublished(rowIds, publishedAt));
+        return marked == null ? 0 : marked;
+    }
+
+    // Stops at the first send that fails on the calling thread: the producer
+    // got no metadata or buffer space within max.block.ms, and every later
+    // send would block as long again.
+    private List<CompletableFuture<?>> sendAll(List<Outgoing> outgoing) {
+        List<CompletableFuture<?>> sends = new ArrayList<>(outgoing.size());
+        for (Outgoing message : outgoing) {
+            CompletableFuture<?> send = send(message);
+            sends.add(send);
+            if (send.isCompletedExceptionally()) {
+                break;
+            }
+        }
+        return sends;
+    }
+
+    private CompletableFuture<?> send(Outgoing message) {
+        if (message.event() == null) {
+            return CompletableFuture.completedFuture(null);
+        }
+        try {
+            return orderProducer.send(message.event());
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private OrderEventPayload read(OutboxEvent outboxEvent) {
+        try {
+            return objectMapper.readValue(outboxEvent.getPayload(), OrderEventPayload.class);
+        } catch (JsonProcessingException e) {
+            // Retrying cannot fix an unreadable row; mark it done so it does
+            // not stall the table, and leave a trace for investigation.
+            log.error("Dropping unreadable outbox event | id={} | orderId={}",
+                    outboxEvent.getId(), outboxEvent.getAggregateId(), e);
+            return null;
+        }
+    }
+
+    // One deadline for the whole batch; each send is inspected afterwards
+    private void awaitAll(List<CompletableFuture<?>> sends) {
+        try {
+            CompletableFuture.allOf(sends.toArray(CompletableFuture[]::new))
+                    .get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException e) {
+            // Failed and unfinished sends are told apart by delivered()
+        }
+    }
+
+    private static boolean delivered(CompletableFuture<?> send) {
+        return send.isDone() && !send.isCompletedExceptionally();
+    }
+
+    // Rows read for one batch, and how many of them were marked published
+    private record Relayed(int claimed, int published) {
+    }
+
+    // One Kafka message and the outbox rows it stands for; event is null for an unreadable row
+    private record Outgoing(Long orderId, OrderEventPayload event, List<Long> rowIds) {
+    }
+}
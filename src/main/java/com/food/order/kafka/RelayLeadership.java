@@ -0,0 +1,95 @@
+package com.food.order.kafka;
+
+import com.food.order.repository.RelayLeaseRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.UUID;
+
+/**
+ * Lets one instance at a time run the {@link OutboxRelay}. The events of
+ * one order must reach Kafka in order, and both the coalescing and the
+ * local {@link EventSpool} see only what their own instance relays, so
+ * relaying is not shared out: the holder of the lease row relays, and the
+ * other instances stand by until it stops renewing, e.g. because it died.
+ * The {@link com.food.order.archive.OrderArchiver} runs on the holder too.
+ *
+ * <p>The lease TTL must exceed the longest relay batch (the send deadline
+ * plus {@code max.block.ms}), and instance clocks must agree to well within
+ * it.
+ */
+@Component
+@Slf4j
+public class RelayLeadership {
+
+    static final String LEASE_NAME = "outbox-relay";
+
+    private final RelayLeaseRepository relayLeaseRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration ttl;
+    private final String owner;
+
+    // Guarded by this; the relay can be invoked from more than one thread
+    private LocalDateTime heldUntil;
+
+    public RelayLeadership(RelayLeaseRepository relayLeaseRepository,
+                           TransactionTemplate transactionTemplate,
+                           @Value("${order.outbox.lease-ttl:30s}") Duration ttl) {
+        this.relayLeaseRepository = relayLeaseRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.ttl = ttl;
+        this.owner = hostName() + "/" + UUID.randomUUID();
+    }
+
+    /**
+     * True if this instance holds the lease. Renews it once half of it has
+     * run out, so a relay polling every few hundred milliseconds writes the
+     * row only every TTL/2.
+     */
+    public synchronized boolean holdLease() {
+
+        LocalDateTime now = LocalDateTime.now();
+        if (heldUntil != null && now.isBefore(heldUntil.minus(ttl.dividedBy(2)))) {
+            return true;
+        }
+
+        LocalDateTime until = now.plus(ttl);
+        boolean held = acquire(now, until);
+
+        if (held && heldUntil == null) {
+            log.info("Outbox relay lease acquired | owner={} | ttl={}", owner, ttl);
+        } else if (!held && heldUntil != null) {
+            log.warn("Outbox relay lease lost | owner={}", owner);
+        }
+        heldUntil = held ? until : null;
+        return held;
+    }
+
+    private boolean acquire(LocalDateTime now, LocalDateTime until) {
+
+        Integer extended = transactionTemplate.execute(status ->
+                relayLeaseRepository.extend(LEASE_NAME, owner, now, until));
+        if (extended != null && extended == 1) {
+            return true;
+        }
+
+        // First start against this database; only one instance inserts the row
+        Integer inserted = transactionTemplate.execute(status ->
+                relayLeaseRepository.insertIfAbsent(LEASE_NAME, owner, until));
+        return inserted != null && inserted == 1;
+    }
+
+    private static String hostName() {
+        try {
+            return InetAddress.getLocalHost().getHostName();
+        } catch (UnknownHostException e) {
+            return "unknown";
+        }
+    }
+}
@@ -0,0 +1,99 @@
+package com.food.order.kafka;
+
+import com.food.order.event.OrderEventPayload;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.kafka.common.errors.SerializationException;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Replays the {@link EventSpool} to Kafka once the broker accepts sends
+ * again. Records are sent oldest first and consumed only up to the first
+ * failure, so each order's events keep their original order; anything
+ * after a failure is sent again on the next attempt (at-least-once).
+ *
+ * <p>Each instance spools to its own directory and drains only that, so
+ * the drainer runs on every instance, lease holder or not: an instance that
+ * lost the {@link RelayLeadership} lease while Kafka was down still owns
+ * the only copy of what it spooled.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class SpoolDrainer {
+
+    private final EventSpool eventSpool;
+    private final OrderProducer orderProducer;
+
+    @Value("${order.spool.drain-batch-size:500}")
+    private int batchSize;
+
+    @Value("${order.outbox.send-timeout-ms:10000}")
+    private long sendTimeoutMs;
+
+    @Scheduled(fixedDelayString = "${order.spool.drain-interval-ms:1000}")
+    public void drain() {
+        while (!eventSpool.isEmpty()) {
+
+            EventSpool.Batch batch = eventSpool.peek(batchSize);
+            if (batch.size() == 0) {
+                return;
+            }
+
+            List<CompletableFuture<?>> sends = new ArrayList<>(batch.size());
+            for (byte[] record : batch.records()) {
+                sends.add(send(record));
+            }
+
+            int delivered = 0;
+            while (delivered < sends.size() && await(sends.get(delivered))) {
+                delivered++;
+            }
+
+            eventSpool.commit(batch, delivered);
+
+            if (delivered < batch.size()) {
+                log.warn("Spool drain paused, broker still rejecting sends | delivered={} | pending={}",
+                        delivered, eventSpool.depth());
+                return;
+            }
+
+            log.info("Spool drained batch | delivered={} | pending={}", delivered, eventSpool.depth());
+        }
+    }
+
+    private CompletableFuture<?> send(byte[] record) {
+        try {
+            OrderEventPayload event = OrderEventCodec.decode(record);
+            return orderProducer.send(event);
+        } catch (SerializationException e) {
+            // Checksummed on the way in, so this means a codec mismatch;
+            // skipping it is the only way to make progress.
+            log.error("Dropping undecodable spool record | bytes={}", record.length, e);
+            return CompletableFuture.completedFuture(null);
+        } catch (RuntimeException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    private boolean await(CompletableFuture<?> send) {
+        try {
+            send.get(sendTimeoutMs, TimeUnit.MILLISECONDS);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        } catch (ExecutionException | TimeoutException e) {
+            return false;
+        }
+    }
+}
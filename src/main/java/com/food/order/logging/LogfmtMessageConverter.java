@@ -0,0 +1,46 @@
+package com.food.order.logging;
+
+import ch.qos.logback.classic.pattern.MessageConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * The formatted message, escaped for a double-quoted logfmt value:
+ * backslashes and quotes are escaped, line breaks and tabs become
+ * {@code \n}, {@code \r} and {@code \t}, so every event stays on one line.
+ * Registered as {@code %logfmtMsg} by the {@code prod} profile in
+ * {@code logback-spring.xml}.
+ */
+public class LogfmtMessageConverter extends MessageConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        return escape(super.convert(event));
+    }
+
+    static String escape(String value) {
+        StringBuilder escaped = null;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            String replacement = switch (c) {
+                case '\\' -> "\\\\";
+                case '"' -> "\\\"";
+                case '\n' -> "\\n";
+                case '\r' -> "\\r";
+                case '\t' -> "\\t";
+                default -> null;
+            };
+            if (replacement != null && escaped == null) {
+                escaped = new StringBuilder(value.length() + 16).append(value, 0, i);
+            }
+            if (escaped != null) {
+                if (replacement != null) {
+                    escaped.append(replacement);
+                } else {
+                    escaped.append(c);
+                }
+            }
+        }
+        // Most messages need no escaping and are returned as they are
+        return escaped == null ? value : escaped.toString();
+    }
+}
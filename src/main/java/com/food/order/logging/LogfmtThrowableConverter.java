@@ -0,0 +1,25 @@
+package com.food.order.logging;
+
+import ch.qos.logback.classic.pattern.ThrowableProxyConverter;
+import ch.qos.logback.classic.spi.ILoggingEvent;
+
+/**
+ * The event's stack trace as one logfmt field, {@code exception="..."},
+ * escaped like {@link LogfmtMessageConverter} so that it does not span
+ * lines and log shippers do not split it into separate events. Empty when
+ * the event carries no exception. Accepts the options of {@code %ex}, e.g.
+ * a depth limit. Registered as {@code %logfmtEx}; being a throwable
+ * converter, it also stops logback from appending a multi-line {@code %ex}
+ * of its own.
+ */
+public class LogfmtThrowableConverter extends ThrowableProxyConverter {
+
+    @Override
+    public String convert(ILoggingEvent event) {
+        String trace = super.convert(event).stripTrailing();
+        if (trace.isEmpty()) {
+            return "";
+        }
+        return " exception=\"" + LogfmtMessageConverter.escape(trace) + "\"";
+    }
+}
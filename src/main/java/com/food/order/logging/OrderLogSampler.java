@@ -0,0 +1,58 @@
+package com.food.order.logging;
+
+import org.slf4j.MDC;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Decides which orders get trace logging: their debug events, Hibernate SQL
+ * and Kafka send acknowledgements. The decision is a hash of the order id,
+ * so every request and relay that touches one order agrees without sharing
+ * state, and a sampled order can be followed through its whole lifecycle.
+ * Warnings and errors are never sampled.
+ */
+@Component
+public class OrderLogSampler {
+
+    /** MDC key that {@link SampledTraceTurboFilter} looks for. */
+    public static final String SAMPLED_KEY = "order.sampled";
+
+    private static final int BUCKET_BITS = 24;
+    private static final long BUCKETS = 1L << BUCKET_BITS;
+
+    private final long threshold;
+
+    public OrderLogSampler(@Value("${order.logging.sample-rate:1.0}") double sampleRate) {
+        if (!(sampleRate >= 0 && sampleRate <= 1)) {
+            throw new IllegalArgumentException("order.logging.sample-rate must be between 0 and 1, was " + sampleRate);
+        }
+        this.threshold = Math.round(sampleRate * BUCKETS);
+    }
+
+    public boolean isSampled(long orderId) {
+        return mix(orderId) >>> (Long.SIZE - BUCKET_BITS) < threshold;
+    }
+
+    /**
+     * Applies the order's decision to whatever the current thread logs next,
+     * until {@link #clear()}.
+     */
+    public void mark(long orderId) {
+        if (isSampled(orderId)) {
+            MDC.put(SAMPLED_KEY, "true");
+        } else {
+            MDC.remove(SAMPLED_KEY);
+        }
+    }
+
+    public void clear() {
+        MDC.remove(SAMPLED_KEY);
+    }
+
+    // SplitMix64 finalizer; Snowflake ids only vary in their low and high bits
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
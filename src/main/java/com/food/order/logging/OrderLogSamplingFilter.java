@@ -0,0 +1,67 @@
+package com.food.order.logging;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+/**
+ * Applies the sampling decision of the order named in the request path
+ * (e.g. {@code /api/v1/orders/42/status}) to everything logged while the
+ * request runs. A create has no id yet; {@code OrderService} marks it once
+ * the id is assigned.
+ */
+@Component
+@RequiredArgsConstructor
+public class OrderLogSamplingFilter extends OncePerRequestFilter {
+
+    private static final String ORDERS_PATH = "/api/v1/orders/";
+
+    private final OrderLogSampler orderLogSampler;
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith("/api/");
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                    FilterChain filterChain) throws ServletException, IOException {
+
+        long orderId = orderId(request.getRequestURI());
+        if (orderId != 0) {
+            orderLogSampler.mark(orderId);
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            orderLogSampler.clear();
+        }
+    }
+
+    // "/api/v1/orders/42/status" -> 42; 0 when the path names no order
+    private static long orderId(String uri) {
+        if (!uri.startsWith(ORDERS_PATH)) {
+            return 0;
+        }
+        int start = ORDERS_PATH.length();
+        int end = start;
+        while (end < uri.length() && Character.isDigit(uri.charAt(end))) {
+            end++;
+        }
+        if (end == start || (end < uri.length() && uri.charAt(end) != '/')) {
+            return 0;
+        }
+        try {
+            return Long.parseLong(uri, start, end, 10);
+        } catch (NumberFormatException e) {
+            return 0;
+        }
+    }
+}
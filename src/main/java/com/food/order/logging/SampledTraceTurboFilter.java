@@ -0,0 +1,51 @@
+package com.food.order.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.MDC;
+import org.slf4j.Marker;
+
+import java.util.Arrays;
+
+/**
+ * Enables DEBUG and TRACE of the configured loggers on threads working on a
+ * sampled order (see {@link OrderLogSampler}), whatever their configured
+ * level. Runs before the level check of every log call, including the
+ * {@code isDebugEnabled()} guards of Hibernate's SQL logging, so the
+ * unsampled path costs one level comparison and one MDC lookup. Installed by
+ * the {@code prod} profile in {@code logback-spring.xml}.
+ *
+ * <p>Only loggers that check their level on every call can be sampled this
+ * way; Hibernate's bind parameter logging decides once at class load.
+ */
+public class SampledTraceTurboFilter extends TurboFilter {
+
+    private String[] loggers = {};
+
+    /** Comma-separated logger name prefixes, e.g. {@code com.food.order,org.hibernate.SQL}. */
+    public void setLoggers(String loggers) {
+        this.loggers = Arrays.stream(loggers.split(","))
+                .map(String::trim)
+                .filter(prefix -> !prefix.isEmpty())
+                .toArray(String[]::new);
+    }
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level,
+                              String format, Object[] params, Throwable t) {
+
+        if (!isStarted() || level.isGreaterOrEqual(Level.INFO) || MDC.get(OrderLogSampler.SAMPLED_KEY) == null) {
+            return FilterReply.NEUTRAL;
+        }
+
+        String name = logger.getName();
+        for (String prefix : loggers) {
+            if (name.startsWith(prefix)) {
+                return FilterReply.ACCEPT;
+            }
+        }
+        return FilterReply.NEUTRAL;
+    }
+}
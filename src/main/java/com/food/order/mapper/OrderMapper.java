@@ -1,13 +1,17 @@
 package com.food.order.mapper;
 
+import com.food.order.catalog.OrderPricing;
+import com.food.order.dto.OrderDetails;
 import com.food.order.dto.OrderRequest;
+import com.food.order.dto.OrderSummary;
+import com.food.order.model.ArchivedOrder;
+import com.food.order.model.ArchivedOrderItem;
 import com.food.order.model.Order;
 import com.food.order.model.OrderItem;
 import org.mapstruct.*;
 
-import java.math.BigDecimal;
 import java.time.LocalDateTime;
-import java.util.UUID;
+import java.util.List;
 
 @Mapper(
 	    componentModel = "spring",
@@ -16,36 +20,47 @@ import java.util.UUID;
 public interface OrderMapper {
 
     @Mapping(target = "id", ignore = true)
-    @Mapping(target = "orderNumber", expression = "java(generateOrderNumber())")
+    @Mapping(target = "orderNumber", ignore = true)
     @Mapping(target = "status", constant = "PENDING")
     @Mapping(target = "createdAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "updatedAt", expression = "java(java.time.LocalDateTime.now())")
     @Mapping(target = "items", ignore = true)
     @Mapping(target = "totalAmount", ignore = true)
-    Order toOrder(OrderRequest request);
+    @Mapping(target = "previousStatus", ignore = true)
+    @Mapping(target = "version", ignore = true)
+    Order toOrder(OrderRequest request, @Context OrderPricing pricing);
 
     @Mapping(target = "id", ignore = true)
     @Mapping(target = "order", ignore = true)
     OrderItem toOrderItem(OrderRequest.OrderItemRequest request);
 
+    /* ---------- Read models ---------- */
+
+    OrderSummary toOrderSummary(Order order);
+
+    // Callers must have fetched the items (entity graph or fetch join)
+    OrderDetails toOrderDetails(Order order);
+
+    List<OrderDetails> toOrderDetailsList(List<Order> orders);
+
+    OrderDetails.Item toOrderDetailsItem(OrderItem item);
+
+    OrderDetails toOrderDetails(ArchivedOrder order);
+
+    OrderDetails.Item toOrderDetailsItem(ArchivedOrderItem item);
+
+    // Prices come from MenuPriceCatalog, indexed like request.getItems()
     @AfterMapping
-    default void linkItems(@MappingTarget Order order, OrderRequest request) {
-        BigDecimal total = BigDecimal.ZERO;
-
-        for (OrderRequest.OrderItemRequest itemReq : request.getItems()) {
-            OrderItem item = toOrderItem(itemReq);
-            item.setUnitPrice(BigDecimal.valueOf(10));
-            item.setTotalPrice(
-                item.getUnitPrice().multiply(BigDecimal.valueOf(item.getQuantity()))
-            );
+    default void linkItems(@MappingTarget Order order, OrderRequest request, @Context OrderPricing pricing) {
+        List<OrderRequest.OrderItemRequest> items = request.getItems();
+
+        for (int i = 0; i < items.size(); i++) {
+            OrderItem item = toOrderItem(items.get(i));
+            item.setUnitPrice(pricing.unitPrice(i));
+            item.setTotalPrice(pricing.lineTotal(i));
             order.addItem(item);
-            total = total.add(item.getTotalPrice());
         }
 
-        order.setTotalAmount(total);
-    }
-
-    default String generateOrderNumber() {
-        return "ORD-" + UUID.randomUUID().toString().substring(0, 8).toUpperCase();
+        order.setTotalAmount(pricing.total());
     }
 }
@@ -0,0 +1,120 @@
+package com.food.order.metrics;
+
+import com.food.order.model.OrderStatus;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Latency of the {@code OrderService} operations as {@code order.operation}
+ * timers with percentile histograms, tagged by operation, outcome and
+ * (for status changes and listings) {@link OrderStatus}.
+ *
+ * <p>Every timer is registered up front, so recording is a clock read and
+ * a histogram increment with no registry lookup. Timing ends when the
+ * surrounding transaction completes, so commit time is included and the
+ * outcome is whether the transaction committed.
+ */
+@Component
+public class OrderMetrics {
+
+    public enum Operation {
+        CREATE("create", false),
+        CREATE_BATCH("create_batch", false),
+        UPDATE_STATUS("update_status", true),
+        UPDATE_STATUS_BATCH("update_status_batch", false),
+        CANCEL("cancel", false),
+        GET_BY_ID("get_by_id", false),
+        BY_CUSTOMER("by_customer", false),
+        BY_RESTAURANT("by_restaurant", false),
+        BY_STATUS("by_status", true),
+        BETWEEN_DATES("between_dates", false),
+        CUSTOMER_BETWEEN_DATES("customer_between_dates", false),
+        PAGE("page", false),
+        STREAM("stream", false);
+
+        private final String tag;
+        // Timed per OrderStatus instead of once
+        private final boolean byStatus;
+
+        Operation(String tag, boolean byStatus) {
+            this.tag = tag;
+            this.byStatus = byStatus;
+        }
+    }
+
+    private static final String NO_STATUS = "none";
+
+    // [success, error] per operation, and per status for the status-tagged ones
+    private final Map<Operation, Timer[]> timers = new EnumMap<>(Operation.class);
+    private final Map<Operation, Map<OrderStatus, Timer[]>> statusTimers = new EnumMap<>(Operation.class);
+
+    public OrderMetrics(MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            if (!operation.byStatus) {
+                timers.put(operation, pair(meterRegistry, operation, NO_STATUS));
+                continue;
+            }
+            Map<OrderStatus, Timer[]> byStatus = new EnumMap<>(OrderStatus.class);
+            for (OrderStatus status : OrderStatus.values()) {
+                byStatus.put(status, pair(meterRegistry, operation, status.name()));
+            }
+            statusTimers.put(operation, byStatus);
+        }
+    }
+
+    /**
+     * Starts timing an operation running inside a transactional method;
+     * the time is recorded when that transaction commits or rolls back.
+     * Without an active synchronization nothing is recorded.
+     */
+    public void time(Operation operation) {
+        time(timers.get(operation));
+    }
+
+    // For the operations timed per status (UPDATE_STATUS, BY_STATUS)
+    public void time(Operation operation, OrderStatus status) {
+        Map<OrderStatus, Timer[]> byStatus = statusTimers.get(operation);
+        time(byStatus == null ? null : byStatus.get(status));
+    }
+
+    private static void time(Timer[] pair) {
+        if (pair == null || !TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        long started = System.nanoTime();
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCompletion(int status) {
+                pair[status == STATUS_COMMITTED ? 0 : 1].record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+            }
+        });
+    }
+
+    private static Timer[] pair(MeterRegistry meterRegistry, Operation operation, String status) {
+        return new Timer[]{
+                timer(meterRegistry, operation, status, "success"),
+                timer(meterRegistry, operation, status, "error")
+        };
+    }
+
+    // Histogram buckets bounded to the range these calls can plausibly take
+    private static Timer timer(MeterRegistry meterRegistry, Operation operation, String status, String outcome) {
+        return Timer.builder("order.operation")
+                .description("Order service operations, including commit")
+                .tag("operation", operation.tag)
+                .tag("status", status)
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofMillis(1))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+}
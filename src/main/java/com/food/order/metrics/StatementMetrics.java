@@ -0,0 +1,70 @@
+package com.food.order.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SQL statements per API request, as the {@code order.http.statements}
+ * summary tagged by method and URI pattern. Hibernate reports every
+ * statement it prepares to this inspector (a JDBC batch counts once), and
+ * the count is kept per request thread between {@link #preHandle} and
+ * {@link #afterCompletion}. N+1 regressions show up as a jump in one
+ * endpoint's distribution.
+ *
+ * <p>Work done after the handler returns, such as streamed response
+ * bodies, runs on another thread and is not counted.
+ */
+@Component
+@RequiredArgsConstructor
+public class StatementMetrics implements StatementInspector, HandlerInterceptor {
+
+    private static final ThreadLocal<int[]> STATEMENTS = ThreadLocal.withInitial(() -> new int[1]);
+
+    private final MeterRegistry meterRegistry;
+
+    // "METHOD uri-pattern" -> summary; bounded by the number of mapped endpoints
+    private final Map<String, DistributionSummary> summaries = new ConcurrentHashMap<>();
+
+    @Override
+    public String inspect(String sql) {
+        STATEMENTS.get()[0]++;
+        return sql;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        STATEMENTS.get()[0] = 0;
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response,
+                                Object handler, Exception ex) {
+        int[] count = STATEMENTS.get();
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        if (pattern != null) {
+            summary(request.getMethod(), pattern.toString()).record(count[0]);
+        }
+        count[0] = 0;
+    }
+
+    private DistributionSummary summary(String method, String uri) {
+        return summaries.computeIfAbsent(method + " " + uri, key -> DistributionSummary
+                .builder("order.http.statements")
+                .description("SQL statements prepared while handling one request")
+                .tag("method", method)
+                .tag("uri", uri)
+                .serviceLevelObjectives(1, 2, 3, 5, 10, 20, 50, 100)
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,170 @@
+package com.food.order.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cold-tier copy of a finished {@link Order}. Rows are only ever written by
+ * the archiver's INSERT ... SELECT, so the id is the original order id and
+ * the columns mirror {@code orders} one to one.
+ */
+@Entity
+@Table(name = "orders_archive", indexes = {
+        @Index(name = "idx_orders_archive_created", columnList = "created_at, id"),
+        @Index(name = "idx_orders_archive_customer_created", columnList = "customer_id, created_at, id"),
+        @Index(name = "idx_orders_archive_restaurant_created", columnList = "restaurant_id, created_at, id")
+})
+public class ArchivedOrder {
+
+    @Id
+    private Long id;
+
+    private String orderNumber;
+    private Long customerId;
+    private Long restaurantId;
+
+    @OneToMany(mappedBy = "order")
+    private List<ArchivedOrderItem> items = new ArrayList<>();
+
+    private BigDecimal totalAmount;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus status;
+
+    @Enumerated(EnumType.STRING)
+    private OrderStatus previousStatus;
+
+    private String deliveryAddress;
+    private String contactPhone;
+    private String specialInstructions;
+
+    private LocalDateTime createdAt;
+    private LocalDateTime updatedAt;
+
+    private Long version;
+
+    private LocalDateTime archivedAt;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public String getOrderNumber() {
+		return orderNumber;
+	}
+
+	public void setOrderNumber(String orderNumber) {
+		this.orderNumber = orderNumber;
+	}
+
+	public Long getCustomerId() {
+		return customerId;
+	}
+
+	public void setCustomerId(Long customerId) {
+		this.customerId = customerId;
+	}
+
+	public Long getRestaurantId() {
+		return restaurantId;
+	}
+
+	public void setRestaurantId(Long restaurantId) {
+		this.restaurantId = restaurantId;
+	}
+
+	public List<ArchivedOrderItem> getItems() {
+		return items;
+	}
+
+	public void setItems(List<ArchivedOrderItem> items) {
+		this.items = items;
+	}
+
+	public BigDecimal getTotalAmount() {
+		return totalAmount;
+	}
+
+	public void setTotalAmount(BigDecimal totalAmount) {
+		this.totalAmount = totalAmount;
+	}
+
+	public OrderStatus getStatus() {
+		return status;
+	}
+
+	public void setStatus(OrderStatus status) {
+		this.status = status;
+	}
+
+	public OrderStatus getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public void setPreviousStatus(OrderStatus previousStatus) {
+		this.previousStatus = previousStatus;
+	}
+
+	public String getDeliveryAddress() {
+		return deliveryAddress;
+	}
+
+	public void setDeliveryAddress(String deliveryAddress) {
+		this.deliveryAddress = deliveryAddress;
+	}
+
+	public String getContactPhone() {
+		return contactPhone;
+	}
+
+	public void setContactPhone(String contactPhone) {
+		this.contactPhone = contactPhone;
+	}
+
+	public String getSpecialInstructions() {
+		return specialInstructions;
+	}
+
+	public void setSpecialInstructions(String specialInstructions) {
+		this.specialInstructions = specialInstructions;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
+
+	public LocalDateTime getArchivedAt() {
+		return archivedAt;
+	}
+
+	public void setArchivedAt(LocalDateTime archivedAt) {
+		this.archivedAt = archivedAt;
+	}
+}
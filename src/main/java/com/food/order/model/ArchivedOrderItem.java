@@ -0,0 +1,80 @@
+package com.food.order.model;
+
+import jakarta.persistence.*;
+import java.math.BigDecimal;
+
+// Cold-tier copy of an OrderItem; see ArchivedOrder
+@Entity
+@Table(name = "order_items_archive",
+       indexes = @Index(name = "idx_order_items_archive_order", columnList = "order_id"))
+public class ArchivedOrderItem {
+
+    @Id
+    private Long id;
+
+    @ManyToOne(fetch = FetchType.LAZY, optional = false)
+    @JoinColumn(name = "order_id")
+    private ArchivedOrder order;
+
+    private Long menuItemId;
+    private Integer quantity;
+    private BigDecimal unitPrice;
+    private BigDecimal totalPrice;
+    private String specialInstructions;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public ArchivedOrder getOrder() {
+		return order;
+	}
+
+	public void setOrder(ArchivedOrder order) {
+		this.order = order;
+	}
+
+	public Long getMenuItemId() {
+		return menuItemId;
+	}
+
+	public void setMenuItemId(Long menuItemId) {
+		this.menuItemId = menuItemId;
+	}
+
+	public Integer getQuantity() {
+		return quantity;
+	}
+
+	public void setQuantity(Integer quantity) {
+		this.quantity = quantity;
+	}
+
+	public BigDecimal getUnitPrice() {
+		return unitPrice;
+	}
+
+	public void setUnitPrice(BigDecimal unitPrice) {
+		this.unitPrice = unitPrice;
+	}
+
+	public BigDecimal getTotalPrice() {
+		return totalPrice;
+	}
+
+	public void setTotalPrice(BigDecimal totalPrice) {
+		this.totalPrice = totalPrice;
+	}
+
+	public String getSpecialInstructions() {
+		return specialInstructions;
+	}
+
+	public void setSpecialInstructions(String specialInstructions) {
+		this.specialInstructions = specialInstructions;
+	}
+}
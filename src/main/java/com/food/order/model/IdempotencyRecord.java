@@ -0,0 +1,76 @@
+package com.food.order.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Client-supplied {@code Idempotency-Key} of a created order, written in the
+ * same transaction as the order. The key is the primary key, so a second
+ * insert of the same key fails (or waits for the first transaction) in the
+ * database even across instances.
+ */
+@Entity
+@Table(name = "order_idempotency_keys",
+       indexes = @Index(name = "idx_idempotency_created", columnList = "created_at"))
+public class IdempotencyRecord implements Persistable<String> {
+
+    @Id
+    @Column(length = 128)
+    private String idempotencyKey;
+
+    // SHA-256 of the original request (hex); a retry with a different body is rejected
+    @Column(length = 64, nullable = false)
+    private String requestFingerprint;
+
+    private Long orderId;
+
+    private LocalDateTime createdAt;
+
+    // Keys are assigned, so tell Spring Data to INSERT instead of merging
+    @Transient
+    private boolean isNew = true;
+
+	public IdempotencyRecord() {
+	}
+
+	public IdempotencyRecord(String idempotencyKey, String requestFingerprint, Long orderId, LocalDateTime createdAt) {
+		this.idempotencyKey = idempotencyKey;
+		this.requestFingerprint = requestFingerprint;
+		this.orderId = orderId;
+		this.createdAt = createdAt;
+	}
+
+	@Override
+	public String getId() {
+		return idempotencyKey;
+	}
+
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+
+	public String getIdempotencyKey() {
+		return idempotencyKey;
+	}
+
+	public String getRequestFingerprint() {
+		return requestFingerprint;
+	}
+
+	public Long getOrderId() {
+		return orderId;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+}
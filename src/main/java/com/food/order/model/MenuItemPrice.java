@@ -0,0 +1,67 @@
+package com.food.order.model;
+
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * Current price of a menu item in minor units. Owned by the menu side;
+ * this service only reads it into {@link com.food.order.catalog.MenuPriceCatalog}.
+ * Rows are deactivated rather than deleted so incremental refreshes see the
+ * change through {@code updated_at}.
+ */
+@Entity
+@Table(name = "menu_item_prices",
+       indexes = @Index(name = "idx_menu_item_prices_updated", columnList = "updated_at"))
+public class MenuItemPrice {
+
+    @Id
+    private Long menuItemId;
+
+    @Column(nullable = false)
+    private long priceCents;
+
+    @Column(nullable = false)
+    private boolean active = true;
+
+    @Column(nullable = false)
+    private LocalDateTime updatedAt;
+
+	public MenuItemPrice() {
+	}
+
+	public MenuItemPrice(Long menuItemId, long priceCents, boolean active, LocalDateTime updatedAt) {
+		this.menuItemId = menuItemId;
+		this.priceCents = priceCents;
+		this.active = active;
+		this.updatedAt = updatedAt;
+	}
+
+	public Long getMenuItemId() {
+		return menuItemId;
+	}
+
+	public long getPriceCents() {
+		return priceCents;
+	}
+
+	public void setPriceCents(long priceCents) {
+		this.priceCents = priceCents;
+	}
+
+	public boolean isActive() {
+		return active;
+	}
+
+	public void setActive(boolean active) {
+		this.active = active;
+	}
+
+	public LocalDateTime getUpdatedAt() {
+		return updatedAt;
+	}
+
+	public void setUpdatedAt(LocalDateTime updatedAt) {
+		this.updatedAt = updatedAt;
+	}
+}
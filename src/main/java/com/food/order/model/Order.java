@@ -7,11 +7,20 @@ import java.util.ArrayList;
 import java.util.List;
 
 @Entity
-@Table(name = "orders")
+@Table(name = "orders",
+        uniqueConstraints = @UniqueConstraint(name = "uk_orders_order_number", columnNames = "order_number"),
+        indexes = {
+                @Index(name = "idx_orders_created", columnList = "created_at, id"),
+                @Index(name = "idx_orders_customer_created", columnList = "customer_id, created_at, id"),
+                @Index(name = "idx_orders_restaurant_created", columnList = "restaurant_id, created_at, id"),
+                @Index(name = "idx_orders_status_created", columnList = "status, created_at, id")
+        })
 public class Order {
 
+    // Assigned from OrderIdGenerator before persist: no database round trip,
+    // so inserts batch, and time-ordered so they append to the primary key.
+    // A new order is recognised by its null version, not its id.
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String orderNumber;
@@ -26,6 +35,14 @@ public class Order {
     @Enumerated(EnumType.STRING)
     private OrderStatus status;
 
+    // Written by the conditional status UPDATE so the event knows where the order came from
+    @Enumerated(EnumType.STRING)
+    private OrderStatus previousStatus;
+
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
     private String deliveryAddress;
     private String contactPhone;
     private String specialInstructions;
@@ -137,4 +154,20 @@ public class Order {
 	}
 
     
+
+	public OrderStatus getPreviousStatus() {
+		return previousStatus;
+	}
+
+	public void setPreviousStatus(OrderStatus previousStatus) {
+		this.previousStatus = previousStatus;
+	}
+
+	public Long getVersion() {
+		return version;
+	}
+
+	public void setVersion(Long version) {
+		this.version = version;
+	}
 }
@@ -12,8 +12,8 @@ import java.math.BigDecimal;
 @Table(name = "order_items")
 public class OrderItem {
 
+    // Assigned from OrderIdGenerator together with the order's id
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY, optional = false)
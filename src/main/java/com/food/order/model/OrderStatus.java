@@ -1,5 +1,11 @@
 package com.food.order.model;
 
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum OrderStatus {
     PENDING,
     CONFIRMED,
@@ -7,7 +13,46 @@ public enum OrderStatus {
     READY_FOR_PICKUP,
     OUT_FOR_DELIVERY,
     DELIVERED,
-    CANCELLED
-}
+    CANCELLED;
+
+    // Allowed next states; an order can be cancelled until it is delivered
+    private static final Map<OrderStatus, Set<OrderStatus>> TRANSITIONS = new EnumMap<>(OrderStatus.class);
+
+    // Inverse of TRANSITIONS: the states an order may be in to move to the key
+    private static final Map<OrderStatus, Set<OrderStatus>> SOURCES = new EnumMap<>(OrderStatus.class);
+
+    static {
+        TRANSITIONS.put(PENDING, EnumSet.of(CONFIRMED, CANCELLED));
+        TRANSITIONS.put(CONFIRMED, EnumSet.of(PREPARING, CANCELLED));
+        TRANSITIONS.put(PREPARING, EnumSet.of(READY_FOR_PICKUP, CANCELLED));
+        TRANSITIONS.put(READY_FOR_PICKUP, EnumSet.of(OUT_FOR_DELIVERY, CANCELLED));
+        TRANSITIONS.put(OUT_FOR_DELIVERY, EnumSet.of(DELIVERED, CANCELLED));
+        TRANSITIONS.put(DELIVERED, EnumSet.noneOf(OrderStatus.class));
+        TRANSITIONS.put(CANCELLED, EnumSet.noneOf(OrderStatus.class));
 
+        for (OrderStatus status : values()) {
+            SOURCES.put(status, EnumSet.noneOf(OrderStatus.class));
+        }
+        TRANSITIONS.forEach((from, targets) -> targets.forEach(to -> SOURCES.get(to).add(from)));
 
+        TRANSITIONS.replaceAll((status, targets) -> Collections.unmodifiableSet(targets));
+        SOURCES.replaceAll((status, sources) -> Collections.unmodifiableSet(sources));
+    }
+
+    public boolean isTerminal() {
+        return this == DELIVERED || this == CANCELLED;
+    }
+
+    public Set<OrderStatus> allowedTransitions() {
+        return TRANSITIONS.get(this);
+    }
+
+    public boolean canTransitionTo(OrderStatus target) {
+        return TRANSITIONS.get(this).contains(target);
+    }
+
+    // States from which an order may move into this one
+    public Set<OrderStatus> allowedSources() {
+        return SOURCES.get(this);
+    }
+}
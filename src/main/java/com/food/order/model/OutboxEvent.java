@@ -0,0 +1,79 @@
+package com.food.order.model;
+
+import com.food.order.event.OrderEventType;
+import jakarta.persistence.*;
+
+import java.time.LocalDateTime;
+
+@Entity
+@Table(name = "order_outbox",
+       indexes = @Index(name = "idx_outbox_pending", columnList = "published_at, id"))
+public class OutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "order_outbox_seq")
+    @SequenceGenerator(name = "order_outbox_seq", sequenceName = "order_outbox_seq", allocationSize = 50)
+    private Long id;
+
+    private Long aggregateId;
+
+    @Enumerated(EnumType.STRING)
+    private OrderEventType eventType;
+
+    @Lob
+    @Column(nullable = false)
+    private String payload;
+
+    private LocalDateTime createdAt;
+
+    // Null until the relay has handed the event to Kafka
+    private LocalDateTime publishedAt;
+
+	public Long getId() {
+		return id;
+	}
+
+	public void setId(Long id) {
+		this.id = id;
+	}
+
+	public Long getAggregateId() {
+		return aggregateId;
+	}
+
+	public void setAggregateId(Long aggregateId) {
+		this.aggregateId = aggregateId;
+	}
+
+	public OrderEventType getEventType() {
+		return eventType;
+	}
+
+	public void setEventType(OrderEventType eventType) {
+		this.eventType = eventType;
+	}
+
+	public String getPayload() {
+		return payload;
+	}
+
+	public void setPayload(String payload) {
+		this.payload = payload;
+	}
+
+	public LocalDateTime getCreatedAt() {
+		return createdAt;
+	}
+
+	public void setCreatedAt(LocalDateTime createdAt) {
+		this.createdAt = createdAt;
+	}
+
+	public LocalDateTime getPublishedAt() {
+		return publishedAt;
+	}
+
+	public void setPublishedAt(LocalDateTime publishedAt) {
+		this.publishedAt = publishedAt;
+	}
+}
@@ -0,0 +1,67 @@
+package com.food.order.model;
+
+import jakarta.persistence.*;
+import org.springframework.data.domain.Persistable;
+
+import java.time.LocalDateTime;
+
+/**
+ * Time-limited ownership of a job that must run on one instance at a time.
+ * The holder pushes {@code expiresAt} forward while it runs; another
+ * instance can take the row over only after it has expired.
+ */
+@Entity
+@Table(name = "relay_leases")
+public class RelayLease implements Persistable<String> {
+
+    @Id
+    @Column(length = 64)
+    private String name;
+
+    @Column(length = 128, nullable = false)
+    private String owner;
+
+    @Column(nullable = false)
+    private LocalDateTime expiresAt;
+
+    // Names are assigned, so tell Spring Data to INSERT instead of merging
+    @Transient
+    private boolean isNew = true;
+
+	public RelayLease() {
+	}
+
+	public RelayLease(String name, String owner, LocalDateTime expiresAt) {
+		this.name = name;
+		this.owner = owner;
+		this.expiresAt = expiresAt;
+	}
+
+	@Override
+	public String getId() {
+		return name;
+	}
+
+	@Override
+	public boolean isNew() {
+		return isNew;
+	}
+
+	@PostLoad
+	@PostPersist
+	void markNotNew() {
+		this.isNew = false;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getOwner() {
+		return owner;
+	}
+
+	public LocalDateTime getExpiresAt() {
+		return expiresAt;
+	}
+}
@@ -0,0 +1,78 @@
+package com.food.order.repository;
+
+import com.food.order.dto.OrderSummary;
+import com.food.order.model.ArchivedOrder;
+import com.food.order.repository.OrderRepository.StatusCount;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.EntityGraph;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface ArchivedOrderRepository extends JpaRepository<ArchivedOrder, Long> {
+
+    String SUMMARY_SELECT = "SELECT new com.food.order.dto.OrderSummary(" +
+            "o.id, o.orderNumber, o.customerId, o.restaurantId, o.status, " +
+            "o.totalAmount, o.createdAt, o.updatedAt) FROM ArchivedOrder o ";
+
+    @EntityGraph(attributePaths = "items")
+    Optional<ArchivedOrder> findWithItemsById(Long id);
+
+    @Query(SUMMARY_SELECT + "WHERE o.createdAt BETWEEN :startDate AND :endDate " +
+            OrderRepository.NEWEST_FIRST)
+    List<OrderSummary> findSummariesBetweenDates(@Param("startDate") LocalDateTime startDate,
+                                                 @Param("endDate") LocalDateTime endDate);
+
+    @Query(SUMMARY_SELECT + "WHERE o.customerId = :customerId AND o.createdAt BETWEEN :startDate AND :endDate " +
+            OrderRepository.NEWEST_FIRST)
+    List<OrderSummary> findSummariesByCustomerBetweenDates(@Param("customerId") Long customerId,
+                                                           @Param("startDate") LocalDateTime startDate,
+                                                           @Param("endDate") LocalDateTime endDate);
+
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SUMMARY_SELECT + "WHERE o.createdAt >= :since")
+    Stream<OrderSummary> streamSummariesCreatedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS total FROM ArchivedOrder o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
+
+    /* ---------- Archiving (one chunk per transaction) ---------- */
+
+    // Parents first: order_items_archive.order_id references orders_archive
+    @Modifying
+    @Query(value = "INSERT INTO orders_archive (id, order_number, customer_id, restaurant_id, total_amount, " +
+            "status, previous_status, delivery_address, contact_phone, special_instructions, " +
+            "created_at, updated_at, version, archived_at) " +
+            "SELECT id, order_number, customer_id, restaurant_id, total_amount, " +
+            "status, previous_status, delivery_address, contact_phone, special_instructions, " +
+            "created_at, updated_at, version, :archivedAt FROM orders WHERE id IN :ids",
+            nativeQuery = true)
+    int copyOrders(@Param("ids") Collection<Long> ids, @Param("archivedAt") LocalDateTime archivedAt);
+
+    @Modifying
+    @Query(value = "INSERT INTO order_items_archive (id, order_id, menu_item_id, quantity, unit_price, " +
+            "total_price, special_instructions) " +
+            "SELECT id, order_id, menu_item_id, quantity, unit_price, total_price, special_instructions " +
+            "FROM order_items WHERE order_id IN :ids",
+            nativeQuery = true)
+    int copyItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM order_items WHERE order_id IN :ids", nativeQuery = true)
+    int deleteHotItems(@Param("ids") Collection<Long> ids);
+
+    @Modifying
+    @Query(value = "DELETE FROM orders WHERE id IN :ids", nativeQuery = true)
+    int deleteHotOrders(@Param("ids") Collection<Long> ids);
+}
@@ -0,0 +1,39 @@
+package com.food.order.repository;
+
+import com.food.order.dto.MenuPriceRow;
+import com.food.order.model.MenuItemPrice;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+@Repository
+public interface MenuItemPriceRepository extends JpaRepository<MenuItemPrice, Long> {
+
+    String ROW_SELECT =
+            "SELECT new com.food.order.dto.MenuPriceRow(p.menuItemId, p.priceCents, p.active, p.updatedAt) " +
+            "FROM MenuItemPrice p ";
+
+    // MIN_VALUE fetch size switches Connector/J to row-by-row streaming
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(ROW_SELECT + "WHERE p.active = true")
+    Stream<MenuPriceRow> streamActive();
+
+    // Inactive rows included so the catalog can drop them
+    @Query(ROW_SELECT + "WHERE p.updatedAt >= :since ORDER BY p.updatedAt")
+    List<MenuPriceRow> findChangedSince(@Param("since") LocalDateTime since);
+
+    @Query("SELECT COUNT(p) FROM MenuItemPrice p WHERE p.active = true")
+    long countActive();
+
+    // Refresh starting point, in the database's own updated_at terms; null for an empty table
+    @Query("SELECT MAX(p.updatedAt) FROM MenuItemPrice p")
+    LocalDateTime findMaxUpdatedAt();
+}
@@ -1,36 +1,108 @@
 package com.food.order.repository;
 
+import com.food.order.dto.OrderSummary;
 import com.food.order.model.Order;
 import com.food.order.model.OrderStatus;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface OrderRepository extends JpaRepository<Order, Long> {
 
+    String SUMMARY_SELECT = "SELECT new com.food.order.dto.OrderSummary(" +
+            "o.id, o.orderNumber, o.customerId, o.restaurantId, o.status, " +
+            "o.totalAmount, o.createdAt, o.updatedAt) FROM Order o ";
+
+    // Connector/J interpolates parameters client-side, so MySQL sees literal
+    // "NULL IS NULL" for absent filters and folds them away before planning.
+    String OPTIONAL_FILTERS = "WHERE (:customerId IS NULL OR o.customerId = :customerId) " +
+            "AND (:restaurantId IS NULL OR o.restaurantId = :restaurantId) " +
+            "AND (:status IS NULL OR o.status = :status) ";
+
+    String NEWEST_FIRST = "ORDER BY o.createdAt DESC, o.id DESC";
+
+    // Item-bearing reads load the collection in the same statement (LEFT JOIN)
+    // instead of one lazy query per order.
+    @EntityGraph(attributePaths = "items")
+    Optional<Order> findWithItemsById(Long id);
+
+    @EntityGraph(attributePaths = "items")
     List<Order> findByCustomerId(Long customerId);
 
+    @EntityGraph(attributePaths = "items")
     List<Order> findByRestaurantId(Long restaurantId);
 
     List<Order> findByStatus(OrderStatus status);
 
+    @Query(SUMMARY_SELECT + "WHERE o.status = :status " + NEWEST_FIRST)
+    List<OrderSummary> findSummariesByStatus(@Param("status") OrderStatus status);
+
+    @Query(SUMMARY_SELECT + "WHERE o.status IN :statuses")
+    List<OrderSummary> findSummariesByStatusIn(@Param("statuses") Collection<OrderStatus> statuses);
+
     List<Order> findByCustomerIdAndStatus(Long customerId, OrderStatus status);
 
     List<Order> findByRestaurantIdAndStatus(Long restaurantId, OrderStatus status);
 
-    @Query("SELECT o FROM Order o WHERE o.createdAt BETWEEN :startDate AND :endDate")
-    List<Order> findOrdersBetweenDates(@Param("startDate") LocalDateTime startDate,
-                                     @Param("endDate") LocalDateTime endDate);
+    @Query(SUMMARY_SELECT + OPTIONAL_FILTERS +
+            "AND (o.createdAt < :createdAt OR (o.createdAt = :createdAt AND o.id < :id)) " +
+            NEWEST_FIRST)
+    List<OrderSummary> findSummariesAfter(@Param("customerId") Long customerId,
+                                          @Param("restaurantId") Long restaurantId,
+                                          @Param("status") OrderStatus status,
+                                          @Param("createdAt") LocalDateTime createdAt,
+                                          @Param("id") Long id,
+                                          Limit limit);
+
+    // MIN_VALUE fetch size switches Connector/J to row-by-row streaming
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SUMMARY_SELECT + OPTIONAL_FILTERS + NEWEST_FIRST)
+    Stream<OrderSummary> streamSummaries(@Param("customerId") Long customerId,
+                                         @Param("restaurantId") Long restaurantId,
+                                         @Param("status") OrderStatus status);
+
+    // Rebuild source for OrderAnalytics; streamed like streamSummaries
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "" + Integer.MIN_VALUE))
+    @Query(SUMMARY_SELECT + "WHERE o.createdAt >= :since")
+    Stream<OrderSummary> streamSummariesCreatedSince(@Param("since") LocalDateTime since);
 
-    @Query("SELECT o FROM Order o WHERE o.customerId = :customerId AND o.createdAt BETWEEN :startDate AND :endDate")
-    List<Order> findOrdersByCustomerBetweenDates(@Param("customerId") Long customerId,
-                                                @Param("startDate") LocalDateTime startDate,
-                                                @Param("endDate") LocalDateTime endDate);
+    // Hot tier only; OrderService merges these with ArchivedOrderRepository
+    @Query(SUMMARY_SELECT + "WHERE o.createdAt BETWEEN :startDate AND :endDate " + NEWEST_FIRST)
+    List<OrderSummary> findOrdersBetweenDates(@Param("startDate") LocalDateTime startDate,
+                                              @Param("endDate") LocalDateTime endDate);
+
+    @Query(SUMMARY_SELECT + "WHERE o.customerId = :customerId AND o.createdAt BETWEEN :startDate AND :endDate " +
+            NEWEST_FIRST)
+    List<OrderSummary> findOrdersByCustomerBetweenDates(@Param("customerId") Long customerId,
+                                                        @Param("startDate") LocalDateTime startDate,
+                                                        @Param("endDate") LocalDateTime endDate);
+
+    // Keyset walk over finished orders for the archiver
+    @Query("SELECT o.id FROM Order o WHERE o.id > :afterId AND o.status IN :statuses " +
+           "AND o.updatedAt < :updatedBefore ORDER BY o.id")
+    List<Long> findIdsToArchive(@Param("afterId") Long afterId,
+                                @Param("statuses") Collection<OrderStatus> statuses,
+                                @Param("updatedBefore") LocalDateTime updatedBefore,
+                                Limit limit);
+
+    @Query("SELECT o.status AS status, COUNT(o) AS total FROM Order o GROUP BY o.status")
+    List<StatusCount> countGroupedByStatus();
 
     @Query("SELECT COUNT(o) FROM Order o WHERE o.status = :status")
     Long countByStatus(@Param("status") OrderStatus status);
@@ -38,6 +110,41 @@ public interface OrderRepository extends JpaRepository<Order, Long> {
     @Query("SELECT COUNT(o) FROM Order o WHERE o.restaurantId = :restaurantId AND o.status = :status")
     Long countByRestaurantIdAndStatus(@Param("restaurantId") Long restaurantId,
                                     @Param("status") OrderStatus status);
-}
 
+    // Check and write in one statement: the row only changes if it is still in
+    // one of the allowed source states, so concurrent transitions cannot
+    // overwrite each other. previousStatus is assigned first and therefore
+    // takes the pre-update status on MySQL as well.
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.previousStatus = o.status, o.status = :target, " +
+           "o.updatedAt = :updatedAt, o.version = o.version + 1 " +
+           "WHERE o.id = :id AND o.status IN :sources")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("sources") Collection<OrderStatus> sources,
+                         @Param("target") OrderStatus target,
+                         @Param("updatedAt") LocalDateTime updatedAt);
 
+    // Row locks for a batch transition, taken before it decides which orders
+    // it moves; in id order so that overlapping batches cannot deadlock
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT o FROM Order o WHERE o.id IN :ids ORDER BY o.id")
+    List<Order> findAllByIdForUpdate(@Param("ids") Collection<Long> ids);
+
+    // Set-based variant for batch updates; rows not in an allowed source state are left alone
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Order o SET o.previousStatus = o.status, o.status = :target, " +
+           "o.updatedAt = :updatedAt, o.version = o.version + 1 " +
+           "WHERE o.id IN :ids AND o.status IN :sources")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("sources") Collection<OrderStatus> sources,
+                           @Param("target") OrderStatus target,
+                           @Param("updatedAt") LocalDateTime updatedAt);
+
+    @Query("SELECT o.status FROM Order o WHERE o.id = :id")
+    Optional<OrderStatus> findStatusById(@Param("id") Long id);
+
+    interface StatusCount {
+        OrderStatus getStatus();
+        Long getTotal();
+    }
+}
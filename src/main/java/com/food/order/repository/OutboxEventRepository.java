@@ -0,0 +1,33 @@
+package com.food.order.repository;
+
+import com.food.order.model.OutboxEvent;
+import org.springframework.data.domain.Limit;
+import org.springframework.data.jpa.repository.*;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface OutboxEventRepository extends JpaRepository<OutboxEvent, Long> {
+
+    // No row locks: only the instance holding the relay lease claims rows
+    // (see RelayLeadership), and it sends them after this read has committed.
+    // Relaying from several instances at once could reorder one order's events.
+    @Query("SELECT e FROM OutboxEvent e " +
+           "WHERE e.publishedAt IS NULL AND e.createdAt <= :createdBefore ORDER BY e.id")
+    List<OutboxEvent> findPending(@Param("createdBefore") LocalDateTime createdBefore,
+                                  Limit limit);
+
+    @Modifying
+    @Query("UPDATE OutboxEvent e SET e.publishedAt = :publishedAt " +
+           "WHERE e.id IN :ids AND e.publishedAt IS NULL")
+    int markPublished(@Param("ids") Collection<Long> ids,
+                      @Param("publishedAt") LocalDateTime publishedAt);
+
+    @Modifying
+    @Query("DELETE FROM OutboxEvent e WHERE e.publishedAt < :before")
+    int deletePublishedBefore(@Param("before") LocalDateTime before);
+}
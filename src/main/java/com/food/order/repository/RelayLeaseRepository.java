@@ -0,0 +1,35 @@
+package com.food.order.repository;
+
+import com.food.order.model.RelayLease;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+
+@Repository
+public interface RelayLeaseRepository extends JpaRepository<RelayLease, String> {
+
+    // Renews the lease for its holder, or hands it to the caller once expired.
+    // Racing instances serialise on the row lock, and the loser re-reads the
+    // winner's expiry and matches nothing.
+    @Modifying
+    @Query("UPDATE RelayLease l SET l.owner = :owner, l.expiresAt = :expiresAt " +
+           "WHERE l.name = :name AND (l.owner = :owner OR l.expiresAt < :now)")
+    int extend(@Param("name") String name,
+               @Param("owner") String owner,
+               @Param("now") LocalDateTime now,
+               @Param("expiresAt") LocalDateTime expiresAt);
+
+    // Creates the row on first start. Racing instances insert nothing but
+    // one row between them; the others get 0 instead of a key violation.
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO relay_leases (name, owner, expires_at) " +
+                   "VALUES (:name, :owner, :expiresAt)",
+           nativeQuery = true)
+    int insertIfAbsent(@Param("name") String name,
+                       @Param("owner") String owner,
+                       @Param("expiresAt") LocalDateTime expiresAt);
+}
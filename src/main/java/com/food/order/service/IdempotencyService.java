@@ -0,0 +1,245 @@
+package com.food.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.food.order.dto.OrderDetails;
+import com.food.order.dto.OrderRequest;
+import com.food.order.model.IdempotencyRecord;
+import com.food.order.repository.IdempotencyRecordRepository;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Deduplicates order creation by {@code Idempotency-Key}, in three layers:
+ * <ol>
+ *   <li>a bounded in-memory cache of recently completed keys answers
+ *       repeats without touching the database;</li>
+ *   <li>concurrent requests with the same key on this instance wait for
+ *       the one already running instead of running again;</li>
+ *   <li>the key row written in the order's transaction catches repeats
+ *       that reach another instance, or arrive after the cache entry
+ *       expired.</li>
+ * </ol>
+ * Deliberately not transactional itself: each create runs in its own
+ * transaction, so a key conflict can be resolved by reading the winner's
+ * row afterwards.
+ */
+@Service
+@Slf4j
+public class IdempotencyService {
+
+    // Fixed property order, independent of the web ObjectMapper's settings
+    private static final ObjectMapper CANONICAL_JSON = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    private final OrderService orderService;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    // source (cache, in-flight, database) -> replays answered from it
+    private final Map<String, Counter> replays;
+
+    private final Duration retention;
+    private final long waitTimeoutMs;
+
+    // key -> completed result; bounded, so only the recent retry window lives here
+    private final Cache<String, Completed> completed;
+
+    // key -> outcome of the request currently creating it on this instance
+    private final Map<String, CompletableFuture<Completed>> inFlight = new ConcurrentHashMap<>();
+
+    public IdempotencyService(OrderService orderService,
+                              IdempotencyRecordRepository idempotencyRecordRepository,
+                              TransactionTemplate transactionTemplate,
+                              MeterRegistry meterRegistry,
+                              @Value("${order.idempotency.cache-size:100000}") long cacheSize,
+                              @Value("${order.idempotency.cache-ttl:10m}") Duration cacheTtl,
+                              @Value("${order.idempotency.retention:24h}") Duration retention,
+                              @Value("${order.idempotency.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        this.orderService = orderService;
+        this.idempotencyRecordRepository = idempotencyRecordRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.replays = Map.of(
+                "cache", replayCounter(meterRegistry, "cache"),
+                "in-flight", replayCounter(meterRegistry, "in-flight"),
+                "database", replayCounter(meterRegistry, "database"));
+        this.retention = retention;
+        this.waitTimeoutMs = waitTimeoutMs;
+        this.completed = Caffeine.newBuilder()
+                .maximumSize(cacheSize)
+                .expireAfterWrite(cacheTtl)
+                .build();
+    }
+
+    public Result createOrder(String idempotencyKey, OrderRequest request) {
+
+        String requestFingerprint = fingerprint(request);
+
+        Completed known = completed.getIfPresent(idempotencyKey);
+        if (known != null) {
+            return replay(idempotencyKey, known, requestFingerprint, "cache");
+        }
+
+        CompletableFuture<Completed> mine = new CompletableFuture<>();
+        CompletableFuture<Completed> running = inFlight.putIfAbsent(idempotencyKey, mine);
+        if (running != null) {
+            return replay(idempotencyKey, await(running), requestFingerprint, "in-flight");
+        }
+
+        try {
+            Optional<IdempotencyRecord> stored = idempotencyRecordRepository.findById(idempotencyKey);
+            if (stored.isPresent()) {
+                Completed earlier = remember(idempotencyKey, stored.get());
+                mine.complete(earlier);
+                return replay(idempotencyKey, earlier, requestFingerprint, "database");
+            }
+
+            OrderDetails created;
+            try {
+                created = orderService.createOrder(request, idempotencyKey, requestFingerprint);
+            } catch (DataIntegrityViolationException e) {
+                // Another instance committed the same key first
+                IdempotencyRecord winner = idempotencyRecordRepository.findById(idempotencyKey)
+                        .orElseThrow(() -> e);
+                Completed earlier = remember(idempotencyKey, winner);
+                mine.complete(earlier);
+                return replay(idempotencyKey, earlier, requestFingerprint, "database");
+            }
+
+            Completed result = new Completed(created.id(), requestFingerprint);
+            completed.put(idempotencyKey, result);
+            mine.complete(result);
+            return new Result(created, false);
+        } catch (RuntimeException e) {
+            mine.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(idempotencyKey, mine);
+        }
+    }
+
+    /* ---------- Retention ---------- */
+
+    @Scheduled(fixedDelayString = "${order.idempotency.purge-interval-ms:3600000}")
+    public void purgeExpired() {
+        LocalDateTime before = LocalDateTime.now().minus(retention);
+        Integer purged = transactionTemplate.execute(status ->
+                idempotencyRecordRepository.deleteCreatedBefore(before));
+        log.info("Purged {} idempotency keys older than {}", purged, before);
+    }
+
+    /* ---------- Helpers ---------- */
+
+    /**
+     * SHA-256 of the request serialized with properties in alphabetical
+     * order, as hex. Unlike {@code hashCode()} it is stable across JVMs and
+     * releases, so it can be stored, and practically collision-free, so a
+     * different order is never mistaken for a retry.
+     */
+    static String fingerprint(OrderRequest request) {
+        try {
+            byte[] canonical = CANONICAL_JSON.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(canonical));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint order request", e);
+        }
+    }
+
+    private Result replay(String idempotencyKey, Completed earlier, String requestFingerprint, String source) {
+
+        if (!earlier.requestFingerprint().equals(requestFingerprint)) {
+            throw new IdempotencyKeyReusedException(
+                    "Idempotency key " + idempotencyKey + " was already used for a different order");
+        }
+
+        replays.get(source).increment();
+
+        log.info("Replaying order for idempotency key. key={}, orderId={}, source={}",
+                idempotencyKey, earlier.orderId(), source);
+
+        OrderDetails order = orderService.getOrderById(earlier.orderId())
+                .orElseThrow(() -> new OrderService.OrderNotFoundException(
+                        "Order not found with id: " + earlier.orderId()));
+        return new Result(order, true);
+    }
+
+    private static Counter replayCounter(MeterRegistry meterRegistry, String source) {
+        return Counter.builder("order.idempotency.replays")
+                .description("Order creations answered from an earlier request with the same key")
+                .tag("source", source)
+                .register(meterRegistry);
+    }
+
+    private Completed remember(String idempotencyKey, IdempotencyRecord record) {
+        Completed result = new Completed(record.getOrderId(), record.getRequestFingerprint());
+        completed.put(idempotencyKey, result);
+        return result;
+    }
+
+    private Completed await(CompletableFuture<Completed> running) {
+        try {
+            return running.get(waitTimeoutMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for a duplicate request", e);
+        } catch (ExecutionException e) {
+            // The first request failed; report the same failure
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw new IdempotencyKeyInProgressException(
+                    "A request with the same idempotency key is still being processed");
+        }
+    }
+
+    // The order created for a key, and the fingerprint of the request that created it
+    private record Completed(Long orderId, String requestFingerprint) {}
+
+    public record Result(OrderDetails order, boolean replayed) {}
+
+    /* ---------- Exceptions ---------- */
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public static class IdempotencyKeyReusedException extends RuntimeException {
+        public IdempotencyKeyReusedException(String message) {
+            super(message);
+        }
+    }
+
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public static class IdempotencyKeyInProgressException extends RuntimeException {
+        public IdempotencyKeyInProgressException(String message) {
+            super(message);
+        }
+    }
+}
@@ -1,19 +1,62 @@
 package com.food.order.service;
 
+import com.food.order.cache.OrderDetailsCache;
+import com.food.order.cache.SingleFlight;
+import com.food.order.catalog.MenuPriceCatalog;
+import com.food.order.dto.BatchOrderResponse;
+import com.food.order.dto.BatchOrderResponse.BatchOrderResult;
+import com.food.order.dto.BatchStatusUpdateRequest.StatusUpdate;
+import com.food.order.dto.BatchStatusUpdateResponse;
+import com.food.order.dto.BatchStatusUpdateResponse.Outcome;
+import com.food.order.dto.BatchStatusUpdateResponse.StatusUpdateResult;
+import com.food.order.dto.OrderCursor;
+import com.food.order.dto.OrderDetails;
+import com.food.order.dto.OrderPage;
 import com.food.order.dto.OrderRequest;
+import com.food.order.dto.OrderSummary;
+import com.food.order.id.OrderIdGenerator;
+import com.food.order.logging.OrderLogSampler;
 import com.food.order.mapper.OrderMapper;
+import com.food.order.metrics.OrderMetrics;
+import com.food.order.metrics.OrderMetrics.Operation;
+import com.food.order.model.IdempotencyRecord;
 import com.food.order.model.Order;
+import com.food.order.model.OrderItem;
 import com.food.order.model.OrderStatus;
+import com.food.order.repository.ArchivedOrderRepository;
+import com.food.order.repository.IdempotencyRecordRepository;
 import com.food.order.repository.OrderRepository;
+import com.food.order.validation.OrderValidationPipeline;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Limit;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 @Service
 @RequiredArgsConstructor
@@ -21,113 +64,456 @@ import java.util.Optional;
 @Transactional
 public class OrderService {
 
+    private static final Comparator<OrderSummary> NEWEST_FIRST = Comparator
+            .comparing(OrderSummary::createdAt, Comparator.reverseOrder())
+            .thenComparing(OrderSummary::id, Comparator.reverseOrder());
+
     private final OrderRepository orderRepository;
     private final OrderMapper orderMapper;
     private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final OrderDetailsCache orderDetailsCache;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final OrderIdGenerator orderIdGenerator;
+    private final IdempotencyRecordRepository idempotencyRecordRepository;
+    private final SingleFlight singleFlight;
+    private final MenuPriceCatalog menuPriceCatalog;
+    private final OrderValidationPipeline orderValidationPipeline;
+    private final OrderMetrics orderMetrics;
+    private final OrderLogSampler orderLogSampler;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${order.single-flight.timeouts.order-by-id:2s}")
+    private Duration orderByIdTimeout;
+
+    @Value("${order.single-flight.timeouts.orders-by-restaurant:5s}")
+    private Duration restaurantOrdersTimeout;
 
     /* ---------- Create Order ---------- */
 
-    public Order createOrder(OrderRequest request) {
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public OrderDetails createOrder(OrderRequest request) {
+        return createOrder(request, null, null);
+    }
 
-        log.info("Creating order for customerId={}, restaurantId={}",
-                request.getCustomerId(), request.getRestaurantId());
+    /**
+     * Creates an order and, when a key is given, records it with the
+     * request's fingerprint in the same transaction. The key row is flushed first, so a concurrent request with
+     * the same key blocks on it and then fails instead of inserting an order.
+     *
+     * <p>The pre-order checks run before that transaction begins: they may
+     * take up to the validation deadline and must not hold a pooled
+     * connection meanwhile.
+     */
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public OrderDetails createOrder(OrderRequest request, String idempotencyKey, String requestFingerprint) {
+        orderMetrics.time(Operation.CREATE);
+
+        log.atDebug()
+                .addKeyValue("customerId", request.getCustomerId())
+                .addKeyValue("restaurantId", request.getRestaurantId())
+                .log("Creating order");
 
         validateOrderRequest(request);
 
-        Order order = orderMapper.toOrder(request);
+        return transactionTemplate.execute(status -> {
+            Order order = orderMapper.toOrder(request, menuPriceCatalog.price(request));
+            assignIds(order);
+            // From here on, including the inserts, logged as the new order is sampled
+            orderLogSampler.mark(order.getId());
+
+            if (idempotencyKey != null) {
+                idempotencyRecordRepository.saveAndFlush(new IdempotencyRecord(
+                        idempotencyKey, requestFingerprint, order.getId(), order.getCreatedAt()));
+            }
+
+            Order savedOrder = orderRepository.save(order);
+
+            log.atDebug()
+                    .addKeyValue("orderId", savedOrder.getId())
+                    .addKeyValue("orderNumber", savedOrder.getOrderNumber())
+                    .log("Order persisted");
+
+            // 🔥 Domain event (outbox row is written BEFORE_COMMIT)
+            eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder));
+
+            return orderMapper.toOrderDetails(savedOrder);
+        });
+    }
+
+    /* ---------- Create Orders (batch) ---------- */
+
+    // Like createOrder, the checks run before the transaction begins
+    @Transactional(propagation = Propagation.SUPPORTS)
+    public BatchOrderResponse createOrders(List<OrderRequest> requests) {
+        orderMetrics.time(Operation.CREATE_BATCH);
+
+        log.atDebug().addKeyValue("size", requests.size()).log("Creating order batch");
+
+        List<List<String>> violations = requests.stream().map(this::validate).toList();
+
+        // Checks for all well-formed orders run concurrently; a rejected order fails alone
+        List<String> rejections = orderValidationPipeline.rejections(IntStream.range(0, requests.size())
+                .mapToObj(i -> violations.get(i).isEmpty() ? requests.get(i) : null)
+                .toList());
+
+        return transactionTemplate.execute(status -> persistBatch(requests, violations, rejections));
+    }
+
+    private BatchOrderResponse persistBatch(List<OrderRequest> requests,
+                                            List<List<String>> violations,
+                                            List<String> rejections) {
+
+        BatchOrderResult[] results = new BatchOrderResult[requests.size()];
+        List<Order> orders = new ArrayList<>(requests.size());
+        List<Integer> indexes = new ArrayList<>(requests.size());
+
+        for (int i = 0; i < requests.size(); i++) {
+            OrderRequest request = requests.get(i);
+
+            List<String> errors = violations.get(i);
+            if (errors.isEmpty() && rejections.get(i) != null) {
+                errors = List.of(rejections.get(i));
+            }
+            if (!errors.isEmpty()) {
+                results[i] = BatchOrderResult.builder()
+                        .index(i)
+                        .success(false)
+                        .errors(errors)
+                        .build();
+                continue;
+            }
+
+            Order order = orderMapper.toOrder(request, menuPriceCatalog.price(request));
+            assignIds(order);
+            orders.add(order);
+            indexes.add(i);
+        }
+
+        // One persist per order; Hibernate groups the INSERTs into JDBC batches
+        // (hibernate.jdbc.batch_size) when the transaction flushes.
+        List<Order> savedOrders = orderRepository.saveAll(orders);
 
-        Order savedOrder = orderRepository.save(order);
+        for (int i = 0; i < savedOrders.size(); i++) {
+            Order savedOrder = savedOrders.get(i);
+            int index = indexes.get(i);
 
-        log.info("Order persisted successfully. orderId={}, orderNumber={}",
-                savedOrder.getId(), savedOrder.getOrderNumber());
+            results[index] = BatchOrderResult.builder()
+                    .index(index)
+                    .success(true)
+                    .orderId(savedOrder.getId())
+                    .orderNumber(savedOrder.getOrderNumber())
+                    .build();
 
-        // 🔥 Domain event (Kafka will be AFTER_COMMIT)
-        eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder));
+            eventPublisher.publishEvent(new OrderCreatedEvent(savedOrder));
+        }
+
+        log.atInfo()
+                .addKeyValue("accepted", savedOrders.size())
+                .addKeyValue("rejected", requests.size() - savedOrders.size())
+                .log("Order batch persisted");
 
-        return savedOrder;
+        return BatchOrderResponse.builder()
+                .accepted(savedOrders.size())
+                .rejected(requests.size() - savedOrders.size())
+                .results(Arrays.asList(results))
+                .build();
     }
 
     /* ---------- Queries ---------- */
 
+    // SUPPORTS: a cache hit must not open a transaction (and borrow a pooled
+    // connection); on a miss the repository call runs on its own. The hot
+    // table is read first, so an order moved in between is still found in
+    // the archive.
+    // Concurrent misses for the same id share one load (see SingleFlight).
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public Optional<OrderDetails> getOrderById(Long orderId) {
+        orderMetrics.time(Operation.GET_BY_ID);
+        return orderDetailsCache.get(orderId, id ->
+                singleFlight.execute("order-by-id", id, orderByIdTimeout, () ->
+                        orderRepository.findWithItemsById(id).map(orderMapper::toOrderDetails)
+                                .or(() -> archivedOrderRepository.findWithItemsById(id)
+                                        .map(orderMapper::toOrderDetails))));
+    }
+
     @Transactional(readOnly = true)
-    public Optional<Order> getOrderById(Long orderId) {
-        return orderRepository.findById(orderId);
+    public List<OrderDetails> getOrdersByCustomerId(Long customerId) {
+        orderMetrics.time(Operation.BY_CUSTOMER);
+        return orderMapper.toOrderDetailsList(orderRepository.findByCustomerId(customerId));
     }
 
+    // SUPPORTS so callers waiting on a shared load do not each hold a
+    // connection; the list is shared between them, hence unmodifiable.
+    @Transactional(propagation = Propagation.SUPPORTS, readOnly = true)
+    public List<OrderDetails> getOrdersByRestaurantId(Long restaurantId) {
+        orderMetrics.time(Operation.BY_RESTAURANT);
+        return singleFlight.execute("orders-by-restaurant", restaurantId, restaurantOrdersTimeout, () ->
+                List.copyOf(orderMapper.toOrderDetailsList(orderRepository.findByRestaurantId(restaurantId))));
+    }
+
+    // Status listings can be very large; they are served without items.
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByCustomerId(Long customerId) {
-        return orderRepository.findByCustomerId(customerId);
+    public List<OrderSummary> getOrdersByStatus(OrderStatus status) {
+        orderMetrics.time(Operation.BY_STATUS, status);
+        return orderRepository.findSummariesByStatus(status);
     }
 
+    // Both tiers are read in one transaction, so the archiver cannot make an
+    // order show up twice or not at all.
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByRestaurantId(Long restaurantId) {
-        return orderRepository.findByRestaurantId(restaurantId);
+    public List<OrderSummary> getOrdersBetweenDates(LocalDateTime startDate, LocalDateTime endDate) {
+        orderMetrics.time(Operation.BETWEEN_DATES);
+        return newestFirst(
+                orderRepository.findOrdersBetweenDates(startDate, endDate),
+                archivedOrderRepository.findSummariesBetweenDates(startDate, endDate));
     }
 
     @Transactional(readOnly = true)
-    public List<Order> getOrdersByStatus(OrderStatus status) {
-        return orderRepository.findByStatus(status);
+    public List<OrderSummary> getOrdersByCustomerBetweenDates(Long customerId,
+                                                              LocalDateTime startDate,
+                                                              LocalDateTime endDate) {
+        orderMetrics.time(Operation.CUSTOMER_BETWEEN_DATES);
+        return newestFirst(
+                orderRepository.findOrdersByCustomerBetweenDates(customerId, startDate, endDate),
+                archivedOrderRepository.findSummariesByCustomerBetweenDates(customerId, startDate, endDate));
     }
 
-    /* ---------- Update Status ---------- */
+    @Transactional(readOnly = true)
+    public OrderPage<OrderSummary> getOrders(Long customerId, Long restaurantId, OrderStatus status,
+                                             OrderCursor cursor, int limit) {
+        orderMetrics.time(Operation.PAGE);
 
-    public Order updateOrderStatus(Long orderId, OrderStatus newStatus) {
+        OrderCursor from = cursor != null ? cursor : OrderCursor.START;
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() ->
-                        new OrderNotFoundException("Order not found with id: " + orderId));
+        // Fetch one extra row to learn whether another page exists
+        List<OrderSummary> rows = orderRepository.findSummariesAfter(
+                customerId, restaurantId, status, from.createdAt(), from.id(), Limit.of(limit + 1));
+
+        if (rows.size() <= limit) {
+            return new OrderPage<>(rows, null);
+        }
+
+        List<OrderSummary> page = rows.subList(0, limit);
+        return new OrderPage<>(page, OrderCursor.after(page.get(limit - 1)).encode());
+    }
+
+    @Transactional(readOnly = true)
+    public void streamOrders(Long customerId, Long restaurantId, OrderStatus status,
+                             Consumer<OrderSummary> sink) {
+        orderMetrics.time(Operation.STREAM);
+
+        try (Stream<OrderSummary> rows = orderRepository.streamSummaries(customerId, restaurantId, status)) {
+            rows.forEach(sink);
+        }
+    }
 
-        OrderStatus oldStatus = order.getStatus();
+    // Merges two lists that are each sorted newest first
+    private static List<OrderSummary> newestFirst(List<OrderSummary> hot, List<OrderSummary> archived) {
+        if (archived.isEmpty()) {
+            return hot;
+        }
+        List<OrderSummary> merged = new ArrayList<>(hot.size() + archived.size());
+        int h = 0;
+        int a = 0;
+        while (h < hot.size() && a < archived.size()) {
+            merged.add(NEWEST_FIRST.compare(hot.get(h), archived.get(a)) <= 0 ? hot.get(h++) : archived.get(a++));
+        }
+        merged.addAll(hot.subList(h, hot.size()));
+        merged.addAll(archived.subList(a, archived.size()));
+        return merged;
+    }
 
-        order.setStatus(newStatus);
-        order.setUpdatedAt(LocalDateTime.now());
+    /* ---------- Update Status ---------- */
 
-        Order updatedOrder = orderRepository.save(order);
+    public OrderSummary updateOrderStatus(Long orderId, OrderStatus newStatus) {
+        orderMetrics.time(Operation.UPDATE_STATUS, newStatus);
 
-        log.info("Order status updated. orderId={}, {} -> {}",
-                orderId, oldStatus, newStatus);
+        Order updatedOrder = transition(orderId, newStatus);
+        OrderStatus oldStatus = updatedOrder.getPreviousStatus();
+
+        log.atDebug()
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("from", oldStatus)
+                .addKeyValue("to", newStatus)
+                .log("Order status updated");
 
         eventPublisher.publishEvent(
                 new OrderStatusChangedEvent(updatedOrder, oldStatus)
         );
 
-        return updatedOrder;
+        return orderMapper.toOrderSummary(updatedOrder);
     }
 
     /* ---------- Cancel Order ---------- */
 
-    public Order cancelOrder(Long orderId) {
+    public OrderSummary cancelOrder(Long orderId) {
+        orderMetrics.time(Operation.CANCEL);
 
-        Order order = orderRepository.findById(orderId)
-                .orElseThrow(() ->
-                        new OrderNotFoundException("Order not found with id: " + orderId));
+        Order cancelledOrder = transition(orderId, OrderStatus.CANCELLED);
+        OrderStatus oldStatus = cancelledOrder.getPreviousStatus();
 
-        if (order.getStatus() == OrderStatus.DELIVERED ||
-            order.getStatus() == OrderStatus.CANCELLED) {
+        log.atDebug()
+                .addKeyValue("orderId", orderId)
+                .addKeyValue("from", oldStatus)
+                .log("Order cancelled");
 
-            log.warn("Invalid cancel attempt. orderId={}, status={}",
-                    orderId, order.getStatus());
+        eventPublisher.publishEvent(new OrderCancelledEvent(cancelledOrder, oldStatus));
 
-            throw new InvalidOrderStatusException(
-                    "Cannot cancel order with status: " + order.getStatus());
+        return orderMapper.toOrderSummary(cancelledOrder);
+    }
+
+    /* ---------- Batch Status Update ---------- */
+
+    /**
+     * Applies many transitions with one conditional UPDATE per target status,
+     * then reads the affected orders back in a single query. The orders are
+     * locked first, so the call knows which of them its own UPDATEs move: a
+     * concurrent transition of the same order waits and then finds it already
+     * moved. All changes are published as one event.
+     */
+    public BatchStatusUpdateResponse updateOrderStatuses(List<StatusUpdate> updates) {
+        orderMetrics.time(Operation.UPDATE_STATUS_BATCH);
+
+        log.atDebug().addKeyValue("size", updates.size()).log("Applying status update batch");
+
+        LocalDateTime now = LocalDateTime.now();
+
+        StatusUpdateResult[] results = new StatusUpdateResult[updates.size()];
+        Map<OrderStatus, List<Long>> idsByTarget = new EnumMap<>(OrderStatus.class);
+        Set<Long> requestedIds = new HashSet<>();
+
+        for (int i = 0; i < updates.size(); i++) {
+            StatusUpdate update = updates.get(i);
+            if (!requestedIds.add(update.getOrderId())) {
+                results[i] = StatusUpdateResult.builder()
+                        .index(i)
+                        .orderId(update.getOrderId())
+                        .outcome(Outcome.DUPLICATE)
+                        .error("Order appears more than once in the batch")
+                        .build();
+                continue;
+            }
+            idsByTarget.computeIfAbsent(update.getStatus(), status -> new ArrayList<>())
+                    .add(update.getOrderId());
         }
 
-        order.setStatus(OrderStatus.CANCELLED);
-        order.setUpdatedAt(LocalDateTime.now());
+        Map<Long, OrderStatus> lockedStatuses = orderRepository.findAllByIdForUpdate(requestedIds).stream()
+                .collect(Collectors.toMap(Order::getId, Order::getStatus));
+
+        Set<Long> applied = new HashSet<>();
+        idsByTarget.forEach((target, ids) -> {
+            List<Long> movable = ids.stream()
+                    .filter(id -> lockedStatuses.containsKey(id) && lockedStatuses.get(id).canTransitionTo(target))
+                    .toList();
+            if (!movable.isEmpty()) {
+                orderRepository.transitionStatuses(movable, target.allowedSources(), target, now);
+                applied.addAll(movable);
+            }
+        });
+
+        Map<Long, Order> orders = orderRepository.findAllById(requestedIds).stream()
+                .collect(Collectors.toMap(Order::getId, Function.identity()));
+
+        List<OrderStatusChangedEvent> changes = new ArrayList<>();
+
+        for (int i = 0; i < updates.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            StatusUpdate update = updates.get(i);
+            Order order = orders.get(update.getOrderId());
+
+            StatusUpdateResult.StatusUpdateResultBuilder result = StatusUpdateResult.builder()
+                    .index(i)
+                    .orderId(update.getOrderId());
+
+            if (order == null) {
+                result.outcome(Outcome.NOT_FOUND)
+                        .error("Order not found with id: " + update.getOrderId());
+            } else if (applied.contains(order.getId())) {
+                result.outcome(Outcome.APPLIED).status(order.getStatus());
+                changes.add(new OrderStatusChangedEvent(order, order.getPreviousStatus()));
+            } else {
+                result.outcome(Outcome.INVALID_TRANSITION)
+                        .status(order.getStatus())
+                        .error("Cannot move order from " + order.getStatus() + " to " + update.getStatus());
+            }
+            results[i] = result.build();
+        }
+
+        if (!changes.isEmpty()) {
+            eventPublisher.publishEvent(new OrderStatusBatchChangedEvent(changes));
+        }
+
+        log.atInfo()
+                .addKeyValue("applied", changes.size())
+                .addKeyValue("rejected", updates.size() - changes.size())
+                .log("Status update batch applied");
+
+        return BatchStatusUpdateResponse.builder()
+                .applied(changes.size())
+                .rejected(updates.size() - changes.size())
+                .results(Arrays.asList(results))
+                .build();
+    }
+
+    /* ---------- Transitions ---------- */
 
-        Order cancelledOrder = orderRepository.save(order);
+    /**
+     * Applies one state-machine transition as a single conditional UPDATE and
+     * returns the order as written. Zero affected rows means the order is
+     * missing or no longer in a state that allows the move; only then is the
+     * current status read, to tell the two apart.
+     */
+    private Order transition(Long orderId, OrderStatus target) {
 
-        log.info("Order cancelled successfully. orderId={}", orderId);
+        int updated = target.allowedSources().isEmpty()
+                ? 0
+                : orderRepository.transitionStatus(orderId, target.allowedSources(), target, LocalDateTime.now());
 
-        eventPublisher.publishEvent(new OrderCancelledEvent(cancelledOrder));
+        if (updated == 0) {
+            OrderStatus current = orderRepository.findStatusById(orderId)
+                    .orElseThrow(() ->
+                            new OrderNotFoundException("Order not found with id: " + orderId));
 
-        return cancelledOrder;
+            log.warn("Rejected status transition. orderId={}, {} -> {}",
+                    orderId, current, target);
+
+            throw new InvalidOrderStatusException(
+                    "Cannot move order from " + current + " to " + target);
+        }
+
+        return orderRepository.findById(orderId)
+                .orElseThrow(() ->
+                        new OrderNotFoundException("Order not found with id: " + orderId));
+    }
+
+    /* ---------- Identity ---------- */
+
+    private void assignIds(Order order) {
+        long id = orderIdGenerator.nextId();
+        order.setId(id);
+        order.setOrderNumber(OrderIdGenerator.orderNumber(id));
+        for (OrderItem item : order.getItems()) {
+            item.setId(orderIdGenerator.nextId());
+        }
     }
 
     /* ---------- Validation ---------- */
 
+    // Restaurant, item and risk checks; see OrderValidationPipeline
     private void validateOrderRequest(OrderRequest request) {
-        // Custom validation hooks (inventory, restaurant availability, etc.)
+        orderValidationPipeline.validate(request);
+    }
+
+    private List<String> validate(OrderRequest request) {
+        if (request == null) {
+            return List.of("Order must not be null");
+        }
+        return validator.validate(request).stream()
+                .map(ConstraintViolation::getMessage)
+                .toList();
     }
 
     /* ---------- Domain Events ---------- */
@@ -139,16 +525,26 @@ public class OrderService {
             OrderStatus oldStatus
     ) {}
 
-    public record OrderCancelledEvent(Order order) {}
+    public record OrderCancelledEvent(
+            Order order,
+            OrderStatus oldStatus
+    ) {}
+
+    // Status changes applied together by updateOrderStatuses
+    public record OrderStatusBatchChangedEvent(
+            List<OrderStatusChangedEvent> changes
+    ) {}
 
     /* ---------- Exceptions ---------- */
 
+    @ResponseStatus(HttpStatus.NOT_FOUND)
     public static class OrderNotFoundException extends RuntimeException {
         public OrderNotFoundException(String message) {
             super(message);
         }
     }
 
+    @ResponseStatus(HttpStatus.CONFLICT)
     public static class InvalidOrderStatusException extends RuntimeException {
         public InvalidOrderStatusException(String message) {
             super(message);
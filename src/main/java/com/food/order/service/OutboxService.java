@@ -0,0 +1,67 @@
+package com.food.order.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.model.OutboxEvent;
+import com.food.order.repository.OutboxEventRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class OutboxService {
+
+    private final OutboxEventRepository outboxEventRepository;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Records an event in the caller's transaction. The row becomes visible
+     * to the relay only if the surrounding order write commits.
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void append(OrderEventPayload event) {
+
+        outboxEventRepository.save(toOutboxEvent(event, LocalDateTime.now()));
+
+        log.debug("Outbox event recorded | orderId={} | type={}",
+                event.orderId(), event.eventType());
+    }
+
+    // Batch variant; the rows are inserted in JDBC batches at flush
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void appendAll(List<OrderEventPayload> events) {
+
+        LocalDateTime now = LocalDateTime.now();
+        outboxEventRepository.saveAll(events.stream()
+                .map(event -> toOutboxEvent(event, now))
+                .toList());
+
+        log.debug("Outbox events recorded | count={}", events.size());
+    }
+
+    private OutboxEvent toOutboxEvent(OrderEventPayload event, LocalDateTime createdAt) {
+        OutboxEvent outboxEvent = new OutboxEvent();
+        outboxEvent.setAggregateId(event.orderId());
+        outboxEvent.setEventType(event.eventType());
+        outboxEvent.setPayload(toJson(event));
+        outboxEvent.setCreatedAt(createdAt);
+        return outboxEvent;
+    }
+
+    private String toJson(OrderEventPayload event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException(
+                    "Could not serialize outbox event for order " + event.orderId(), e);
+        }
+    }
+}
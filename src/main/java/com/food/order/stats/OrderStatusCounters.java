@@ -0,0 +1,135 @@
+package com.food.order.stats;
+
+import com.food.order.model.OrderStatus;
+import com.food.order.repository.ArchivedOrderRepository;
+import com.food.order.repository.OrderRepository;
+import com.food.order.repository.OrderRepository.StatusCount;
+import com.food.order.service.OrderService.OrderCancelledEvent;
+import com.food.order.service.OrderService.OrderCreatedEvent;
+import com.food.order.service.OrderService.OrderStatusBatchChangedEvent;
+import com.food.order.service.OrderService.OrderStatusChangedEvent;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Order counts per status, held in striped {@link LongAdder}s indexed by
+ * {@link OrderStatus#ordinal()} and adjusted on every committed transition.
+ * Replaces COUNT(*) polling; a periodic grouped query corrects any drift.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class OrderStatusCounters implements SmartInitializingSingleton {
+
+    private static final OrderStatus[] STATUSES = OrderStatus.values();
+
+    private final OrderRepository orderRepository;
+    private final ArchivedOrderRepository archivedOrderRepository;
+    private final MeterRegistry meterRegistry;
+
+    private final LongAdder[] counters = newCounters();
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (OrderStatus status : STATUSES) {
+            Gauge.builder("order.status.count", counters[status.ordinal()], LongAdder::sum)
+                    .description("Orders currently in each status")
+                    .tag("status", status.name())
+                    .register(meterRegistry);
+        }
+        reconcile();
+    }
+
+    public long get(OrderStatus status) {
+        return counters[status.ordinal()].sum();
+    }
+
+    public Map<OrderStatus, Long> snapshot() {
+        Map<OrderStatus, Long> snapshot = new EnumMap<>(OrderStatus.class);
+        for (OrderStatus status : STATUSES) {
+            snapshot.put(status, get(status));
+        }
+        return snapshot;
+    }
+
+    /* ---------- Reconciliation ---------- */
+
+    /**
+     * Aligns the counters with one grouped COUNT. Transitions committing
+     * while the query runs may be counted twice or not at all; the next run
+     * corrects that.
+     */
+    @Scheduled(initialDelayString = "${order.stats.reconcile-interval-ms:300000}",
+               fixedDelayString = "${order.stats.reconcile-interval-ms:300000}")
+    public void reconcile() {
+
+        // Archived orders still count; the archiver only moves them between tables
+        long[] actual = new long[STATUSES.length];
+        for (StatusCount count : orderRepository.countGroupedByStatus()) {
+            actual[count.getStatus().ordinal()] += count.getTotal();
+        }
+        for (StatusCount count : archivedOrderRepository.countGroupedByStatus()) {
+            actual[count.getStatus().ordinal()] += count.getTotal();
+        }
+
+        for (OrderStatus status : STATUSES) {
+            LongAdder counter = counters[status.ordinal()];
+            long drift = actual[status.ordinal()] - counter.sum();
+            if (drift != 0) {
+                counter.add(drift);
+                log.debug("Status counter corrected | status={} | drift={}", status, drift);
+            }
+        }
+    }
+
+    /* ---------- Domain events ---------- */
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCreated(OrderCreatedEvent event) {
+        counters[event.order().getStatus().ordinal()].increment();
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusChanged(OrderStatusChangedEvent event) {
+        move(event.oldStatus(), event.order().getStatus());
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderCancelled(OrderCancelledEvent event) {
+        move(event.oldStatus(), OrderStatus.CANCELLED);
+    }
+
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT)
+    public void onOrderStatusBatchChanged(OrderStatusBatchChangedEvent event) {
+        event.changes().forEach(change -> move(change.oldStatus(), change.order().getStatus()));
+    }
+
+    private void move(OrderStatus from, OrderStatus to) {
+        if (from == to) {
+            return;
+        }
+        if (from != null) {
+            counters[from.ordinal()].decrement();
+        }
+        counters[to.ordinal()].increment();
+    }
+
+    private static LongAdder[] newCounters() {
+        LongAdder[] adders = new LongAdder[STATUSES.length];
+        for (int i = 0; i < adders.length; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+}
@@ -0,0 +1,286 @@
+package com.food.order.validation;
+
+import com.food.order.dto.OrderRequest;
+import com.food.order.validation.OrderValidator.Verdict;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs every {@link OrderValidator} for a request concurrently, one virtual
+ * thread per check, so a create waits for the slowest check instead of the
+ * sum of all of them.
+ *
+ * <ul>
+ *   <li>Cached verdicts are answered on the calling thread; only the
+ *       remaining checks are forked.</li>
+ *   <li>The first rejection fails the order immediately and cancels the
+ *       checks still running.</li>
+ *   <li>All checks share one deadline; whatever has not answered by then
+ *       is cancelled and the order fails as unavailable.</li>
+ * </ul>
+ */
+@Component
+@Slf4j
+public class OrderValidationPipeline {
+
+    private final List<Check> checks;
+    private final Duration deadline;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    public OrderValidationPipeline(List<OrderValidator> validators,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${order.validation.deadline:300ms}") Duration deadline,
+                                   @Value("${order.validation.cache-size:10000}") long cacheSize) {
+        this.deadline = deadline;
+        this.checks = validators.stream()
+                .map(validator -> new Check(validator, meterRegistry, cacheSize))
+                .toList();
+        log.info("Order validation pipeline | checks={} deadline={}",
+                checks.stream().map(check -> check.validator.name()).toList(), deadline);
+    }
+
+    /**
+     * @throws OrderRejectedException if any check rejects the order
+     * @throws OrderValidationUnavailableException if a check failed or the
+     *         deadline passed before all checks answered
+     */
+    public void validate(OrderRequest request) {
+        long deadlineNanos = System.nanoTime() + deadline.toNanos();
+
+        List<Check> pending = new ArrayList<>(checks.size());
+        List<Object> keys = new ArrayList<>(checks.size());
+        for (Check check : checks) {
+            Object key = check.cacheKey(request);
+            Verdict cached = key == null ? null : check.cache.getIfPresent(key);
+            if (cached != null) {
+                check.cacheHits.increment();
+                reject(check, cached);
+                continue;
+            }
+            pending.add(check);
+            keys.add(key);
+        }
+
+        if (!pending.isEmpty()) {
+            fork(request, pending, keys, deadlineNanos);
+        }
+    }
+
+    /**
+     * Validates a batch with every order's checks running at once, so the
+     * batch takes about as long as its slowest order. Returns the rejection
+     * reason per request, {@code null} where accepted.
+     *
+     * @throws OrderValidationUnavailableException if any order could not be checked
+     */
+    public List<String> rejections(List<OrderRequest> requests) {
+        List<Future<?>> futures = new ArrayList<>(requests.size());
+        for (OrderRequest request : requests) {
+            futures.add(request == null ? null : executor.submit(() -> validate(request)));
+        }
+
+        List<String> rejections = new ArrayList<>(requests.size());
+        try {
+            for (Future<?> future : futures) {
+                rejections.add(future == null ? null : rejection(future));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderValidationUnavailableException("Interrupted while validating orders", e);
+        } finally {
+            futures.forEach(future -> {
+                if (future != null) {
+                    future.cancel(true);
+                }
+            });
+        }
+        return rejections;
+    }
+
+    private static String rejection(Future<?> future) throws InterruptedException {
+        try {
+            future.get();
+            return null;
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof OrderRejectedException rejected) {
+                return rejected.getMessage();
+            }
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    private void fork(OrderRequest request, List<Check> pending, List<Object> keys, long deadlineNanos) {
+        CompletionService<Outcome> completion = new ExecutorCompletionService<>(executor);
+        List<Future<Outcome>> futures = new ArrayList<>(pending.size());
+        boolean[] answered = new boolean[pending.size()];
+
+        try {
+            for (int i = 0; i < pending.size(); i++) {
+                int index = i;
+                futures.add(completion.submit(() -> pending.get(index).run(index, request)));
+            }
+
+            for (int done = 0; done < pending.size(); done++) {
+                Future<Outcome> next = completion.poll(deadlineNanos - System.nanoTime(), TimeUnit.NANOSECONDS);
+                if (next == null) {
+                    throw timedOut(pending, answered);
+                }
+
+                Outcome outcome = next.get();
+                Check check = pending.get(outcome.index());
+                answered[outcome.index()] = true;
+
+                if (outcome.failure() != null) {
+                    throw new OrderValidationUnavailableException(
+                            "Order check '" + check.validator.name() + "' failed", outcome.failure());
+                }
+                Object key = keys.get(outcome.index());
+                if (key != null) {
+                    check.cache.put(key, outcome.verdict());
+                }
+                reject(check, outcome.verdict());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new OrderValidationUnavailableException("Interrupted while validating order", e);
+        } catch (ExecutionException e) {
+            // Checks catch their own failures; this is a bug in the pipeline
+            throw new IllegalStateException(e.getCause());
+        } finally {
+            // No-op for finished checks; interrupts the rest after a rejection or timeout
+            futures.forEach(future -> future.cancel(true));
+        }
+    }
+
+    private static void reject(Check check, Verdict verdict) {
+        if (!verdict.accepted()) {
+            throw new OrderRejectedException(check.validator.name(), verdict.reason());
+        }
+    }
+
+    private static OrderValidationUnavailableException timedOut(List<Check> pending, boolean[] answered) {
+        List<String> late = new ArrayList<>();
+        for (int i = 0; i < pending.size(); i++) {
+            if (!answered[i]) {
+                pending.get(i).timeouts.increment();
+                late.add(pending.get(i).validator.name());
+            }
+        }
+        return new OrderValidationUnavailableException("Order checks did not answer in time: " + late, null);
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /* ---------- Checks ---------- */
+
+    private record Outcome(int index, Verdict verdict, Exception failure) {}
+
+    // A validator with its verdict cache and meters
+    private static final class Check {
+
+        private final OrderValidator validator;
+        private final Cache<Object, Verdict> cache;
+        private final Timer accepted;
+        private final Timer rejected;
+        private final Timer failed;
+        private final Counter timeouts;
+        private final Counter cacheHits;
+
+        Check(OrderValidator validator, MeterRegistry meterRegistry, long cacheSize) {
+            this.validator = validator;
+            Duration ttl = validator.cacheTtl();
+            this.cache = ttl.isZero()
+                    ? null
+                    : Caffeine.newBuilder().maximumSize(cacheSize).expireAfterWrite(ttl).build();
+            this.accepted = timer(meterRegistry, "accepted");
+            this.rejected = timer(meterRegistry, "rejected");
+            this.failed = timer(meterRegistry, "failed");
+            this.timeouts = Counter.builder("order.validation.timeouts")
+                    .description("Checks cancelled at the pipeline deadline")
+                    .tag("check", validator.name())
+                    .register(meterRegistry);
+            this.cacheHits = Counter.builder("order.validation.cache.hits")
+                    .description("Checks answered from a cached verdict")
+                    .tag("check", validator.name())
+                    .register(meterRegistry);
+        }
+
+        Object cacheKey(OrderRequest request) {
+            return cache == null ? null : validator.cacheKey(request);
+        }
+
+        // Runs on a virtual thread; never throws so the pipeline sees every outcome
+        Outcome run(int index, OrderRequest request) {
+            long started = System.nanoTime();
+            try {
+                Verdict verdict = validator.validate(request);
+                (verdict.accepted() ? accepted : rejected).record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                return new Outcome(index, verdict, null);
+            } catch (Exception e) {
+                // Interrupted means cancelled by the pipeline, already counted there
+                if (!(e instanceof InterruptedException)) {
+                    failed.record(System.nanoTime() - started, TimeUnit.NANOSECONDS);
+                }
+                return new Outcome(index, null, e);
+            }
+        }
+
+        private Timer timer(MeterRegistry meterRegistry, String outcome) {
+            return Timer.builder("order.validation.check")
+                    .description("Latency of one pre-order check")
+                    .tag("check", validator.name())
+                    .tag("outcome", outcome)
+                    .register(meterRegistry);
+        }
+    }
+
+    /* ---------- Exceptions ---------- */
+
+    @ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+    public static class OrderRejectedException extends RuntimeException {
+
+        private final String check;
+
+        public OrderRejectedException(String check, String reason) {
+            super(reason);
+            this.check = check;
+        }
+
+        public String getCheck() {
+            return check;
+        }
+    }
+
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public static class OrderValidationUnavailableException extends RuntimeException {
+        public OrderValidationUnavailableException(String message, Throwable cause) {
+            super(message, cause);
+        }
+    }
+}
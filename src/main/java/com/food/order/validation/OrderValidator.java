@@ -0,0 +1,47 @@
+package com.food.order.validation;
+
+import com.food.order.dto.OrderRequest;
+
+import java.time.Duration;
+
+/**
+ * One pre-order check run by {@link OrderValidationPipeline}, typically a
+ * call to another service. Checks run concurrently and must not depend on
+ * each other.
+ *
+ * <p>A check that cannot decide (remote call failed) throws; the pipeline
+ * then fails the order as unavailable rather than accepting it unchecked.
+ */
+public interface OrderValidator {
+
+    // Metric tag and log name, e.g. "restaurant-open"
+    String name();
+
+    Verdict validate(OrderRequest request) throws Exception;
+
+    /**
+     * Key under which verdicts for this request may be reused, e.g. the
+     * restaurant id for an open/closed check. {@code null} disables caching.
+     */
+    default Object cacheKey(OrderRequest request) {
+        return null;
+    }
+
+    // How long a cached verdict stays valid; ZERO disables caching
+    default Duration cacheTtl() {
+        return Duration.ZERO;
+    }
+
+    record Verdict(boolean accepted, String reason) {
+
+        private static final Verdict ACCEPTED = new Verdict(true, null);
+
+        public static Verdict accept() {
+            return ACCEPTED;
+        }
+
+        public static Verdict reject(String reason) {
+            return new Verdict(false, reason);
+        }
+    }
+}
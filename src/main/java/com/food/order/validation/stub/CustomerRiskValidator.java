@@ -0,0 +1,58 @@
+package com.food.order.validation.stub;
+
+import com.food.order.dto.OrderRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Scores customers 0-99 from a hash of their id, so the same customer
+ * always gets the same score, and rejects scores above the threshold.
+ * The default threshold of 100 accepts everyone.
+ */
+@Component
+@ConditionalOnProperty(name = "order.validation.stubs.enabled", havingValue = "true")
+public class CustomerRiskValidator extends SimulatedValidator {
+
+    private final int maxScore;
+    private final Duration cacheTtl;
+
+    public CustomerRiskValidator(@Value("${order.validation.stubs.customer-risk.latency:40ms}") Duration latency,
+                                 @Value("${order.validation.stubs.customer-risk.cache-ttl:5m}") Duration cacheTtl,
+                                 @Value("${order.validation.stubs.customer-risk.max-score:100}") int maxScore) {
+        super(latency);
+        this.cacheTtl = cacheTtl;
+        this.maxScore = maxScore;
+    }
+
+    @Override
+    public String name() {
+        return "customer-risk";
+    }
+
+    @Override
+    public Verdict validate(OrderRequest request) throws InterruptedException {
+        simulateCall();
+        int score = score(request.getCustomerId());
+        return score > maxScore
+                ? Verdict.reject("Order declined by risk check")
+                : Verdict.accept();
+    }
+
+    @Override
+    public Object cacheKey(OrderRequest request) {
+        return request.getCustomerId();
+    }
+
+    @Override
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+
+    private static int score(long customerId) {
+        long hash = customerId * 0x9E3779B97F4A7C15L;
+        return (int) Math.floorMod(hash ^ (hash >>> 29), 100L);
+    }
+}
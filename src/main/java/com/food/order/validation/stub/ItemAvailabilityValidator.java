@@ -0,0 +1,39 @@
+package com.food.order.validation.stub;
+
+import com.food.order.dto.OrderRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+// Rejects orders containing menu items listed as sold out; never cached
+@Component
+@ConditionalOnProperty(name = "order.validation.stubs.enabled", havingValue = "true")
+public class ItemAvailabilityValidator extends SimulatedValidator {
+
+    private final Set<Long> unavailableMenuItemIds;
+
+    public ItemAvailabilityValidator(@Value("${order.validation.stubs.item-availability.latency:30ms}") Duration latency,
+                                     @Value("${order.validation.stubs.item-availability.unavailable-menu-item-ids:}") Set<Long> unavailableMenuItemIds) {
+        super(latency);
+        this.unavailableMenuItemIds = Set.copyOf(unavailableMenuItemIds);
+    }
+
+    @Override
+    public String name() {
+        return "item-availability";
+    }
+
+    @Override
+    public Verdict validate(OrderRequest request) throws InterruptedException {
+        simulateCall();
+        for (OrderRequest.OrderItemRequest item : request.getItems()) {
+            if (unavailableMenuItemIds.contains(item.getMenuItemId())) {
+                return Verdict.reject("Menu item " + item.getMenuItemId() + " is not available");
+            }
+        }
+        return Verdict.accept();
+    }
+}
@@ -0,0 +1,50 @@
+package com.food.order.validation.stub;
+
+import com.food.order.dto.OrderRequest;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Set;
+
+// Rejects orders for restaurants listed as closed
+@Component
+@ConditionalOnProperty(name = "order.validation.stubs.enabled", havingValue = "true")
+public class RestaurantOpenValidator extends SimulatedValidator {
+
+    private final Set<Long> closedRestaurantIds;
+    private final Duration cacheTtl;
+
+    public RestaurantOpenValidator(@Value("${order.validation.stubs.restaurant-open.latency:20ms}") Duration latency,
+                                   @Value("${order.validation.stubs.restaurant-open.cache-ttl:30s}") Duration cacheTtl,
+                                   @Value("${order.validation.stubs.restaurant-open.closed-restaurant-ids:}") Set<Long> closedRestaurantIds) {
+        super(latency);
+        this.cacheTtl = cacheTtl;
+        this.closedRestaurantIds = Set.copyOf(closedRestaurantIds);
+    }
+
+    @Override
+    public String name() {
+        return "restaurant-open";
+    }
+
+    @Override
+    public Verdict validate(OrderRequest request) throws InterruptedException {
+        simulateCall();
+        return closedRestaurantIds.contains(request.getRestaurantId())
+                ? Verdict.reject("Restaurant " + request.getRestaurantId() + " is closed")
+                : Verdict.accept();
+    }
+
+    // Opening hours change rarely; one answer serves every order to the restaurant
+    @Override
+    public Object cacheKey(OrderRequest request) {
+        return request.getRestaurantId();
+    }
+
+    @Override
+    public Duration cacheTtl() {
+        return cacheTtl;
+    }
+}
@@ -0,0 +1,30 @@
+package com.food.order.validation.stub;
+
+import com.food.order.validation.OrderValidator;
+
+import java.time.Duration;
+
+/**
+ * Base of the in-process stand-ins for the restaurant, menu and risk
+ * services: each sleeps for its configured latency before answering, so
+ * the pipeline can be exercised and benchmarked offline. Sleeping parks
+ * the virtual thread, like waiting on a real remote call would.
+ */
+public abstract class SimulatedValidator implements OrderValidator {
+
+    private final Duration latency;
+
+    protected SimulatedValidator(Duration latency) {
+        this.latency = latency;
+    }
+
+    protected void simulateCall() throws InterruptedException {
+        if (!latency.isZero()) {
+            Thread.sleep(latency);
+        }
+    }
+
+    public Duration getLatency() {
+        return latency;
+    }
+}
@@ -0,0 +1,84 @@
+package com.food.order.analytics;
+
+import com.food.order.dto.OrderSummary;
+import com.food.order.model.Order;
+import com.food.order.model.OrderStatus;
+import com.food.order.repository.ArchivedOrderRepository;
+import com.food.order.repository.OrderRepository;
+import com.food.order.service.OrderService.OrderCreatedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class OrderAnalyticsTest {
+
+    private static final long RESTAURANT = 42L;
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final ArchivedOrderRepository archivedOrderRepository = mock(ArchivedOrderRepository.class);
+    private final OrderAnalytics analytics = new OrderAnalytics(orderRepository, archivedOrderRepository,
+            mock(PlatformTransactionManager.class), new SimpleMeterRegistry());
+
+    @BeforeEach
+    void emptyArchive() {
+        when(archivedOrderRepository.streamSummariesCreatedSince(any())).thenAnswer(call -> Stream.empty());
+    }
+
+    @Test
+    void rebuildPicksUpOrdersPlacedThroughOtherInstances() {
+
+        OrderSummary local = summary(1L);
+        when(orderRepository.streamSummariesCreatedSince(any())).thenAnswer(call -> Stream.of(local));
+        analytics.rebuild();
+        assertThat(lastHourOrders()).isEqualTo(1);
+
+        OrderSummary remote = summary(2L);
+        when(orderRepository.streamSummariesCreatedSince(any())).thenAnswer(call -> Stream.of(local, remote));
+        analytics.rebuild();
+
+        assertThat(lastHourOrders()).isEqualTo(2);
+    }
+
+    @Test
+    void rebuildKeepsEventsCommittedWhileItReads() {
+
+        // The event commits after the rebuild's snapshot, so the stream does not contain it
+        when(orderRepository.streamSummariesCreatedSince(any())).thenAnswer(call -> {
+            analytics.onOrderCreated(new OrderCreatedEvent(order(3L)));
+            return Stream.of(summary(1L));
+        });
+        analytics.rebuild();
+
+        assertThat(lastHourOrders()).isEqualTo(2);
+    }
+
+    private long lastHourOrders() {
+        return analytics.getAnalytics(RESTAURANT).windows().get("last-hour").orders();
+    }
+
+    private static OrderSummary summary(Long id) {
+        LocalDateTime now = LocalDateTime.now();
+        return new OrderSummary(id, "ORD-" + id, 7L, RESTAURANT, OrderStatus.PENDING, BigDecimal.TEN, now, now);
+    }
+
+    private static Order order(Long id) {
+        Order order = new Order();
+        order.setId(id);
+        order.setRestaurantId(RESTAURANT);
+        order.setStatus(OrderStatus.PENDING);
+        order.setTotalAmount(BigDecimal.TEN);
+        order.setCreatedAt(LocalDateTime.now());
+        order.setUpdatedAt(LocalDateTime.now());
+        return order;
+    }
+}
@@ -0,0 +1,63 @@
+package com.food.order.board;
+
+import com.food.order.dto.OrderSummary;
+import com.food.order.mapper.OrderMapper;
+import com.food.order.model.OrderStatus;
+import com.food.order.repository.OrderRepository;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class RestaurantOrderBoardTest {
+
+    private static final long RESTAURANT = 42L;
+
+    private final OrderRepository orderRepository = mock(OrderRepository.class);
+    private final RestaurantOrderBoard board = new RestaurantOrderBoard(orderRepository, mock(OrderMapper.class));
+
+    @Test
+    void reconcileAddsRemoteOrdersAndDropsOrdersFinishedElsewhere() {
+
+        LocalDateTime earlier = LocalDateTime.now().minusMinutes(5);
+        OrderSummary finishedElsewhere = summary(1L, OrderStatus.PENDING, earlier);
+        OrderSummary stillActive = summary(2L, OrderStatus.PENDING, earlier);
+        when(orderRepository.findSummariesByStatusIn(anyCollection()))
+                .thenReturn(List.of(finishedElsewhere, stillActive));
+        board.afterSingletonsInstantiated();
+
+        // Order 1 finished and order 3 was created through other instances
+        OrderSummary createdElsewhere = summary(3L, OrderStatus.CONFIRMED, earlier.plusMinutes(1));
+        when(orderRepository.findSummariesByStatusIn(anyCollection()))
+                .thenReturn(List.of(stillActive, createdElsewhere));
+        board.reconcile();
+
+        assertThat(board.getBoard(RESTAURANT).orders().values().stream().flatMap(List::stream))
+                .extracting(OrderSummary::id)
+                .containsExactlyInAnyOrder(2L, 3L);
+    }
+
+    @Test
+    void reconcileKeepsOrdersUpdatedAfterItsQueryStarted() {
+
+        // Stands in for an order changed on this instance while the query ran
+        OrderSummary late = summary(4L, OrderStatus.PENDING, LocalDateTime.now().plusMinutes(1));
+        when(orderRepository.findSummariesByStatusIn(anyCollection())).thenReturn(List.of(late));
+        board.afterSingletonsInstantiated();
+
+        when(orderRepository.findSummariesByStatusIn(anyCollection())).thenReturn(List.of());
+        board.reconcile();
+
+        assertThat(board.getCounts(RESTAURANT)).containsEntry(OrderStatus.PENDING, 1);
+    }
+
+    private static OrderSummary summary(Long id, OrderStatus status, LocalDateTime updatedAt) {
+        return new OrderSummary(id, "ORD-" + id, 7L, RESTAURANT, status, BigDecimal.TEN, updatedAt, updatedAt);
+    }
+}
@@ -0,0 +1,142 @@
+package com.food.order.cache;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.awaitility.Awaitility.await;
+
+class SingleFlightTest {
+
+    private static final String QUERY = "test";
+    private static final int CALLERS = 8;
+    // Long enough that no follower gives up and loads by itself
+    private static final Duration WAIT = Duration.ofSeconds(30);
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SingleFlight singleFlight = new SingleFlight(meterRegistry);
+    private final ExecutorService executor = Executors.newFixedThreadPool(CALLERS);
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    @AfterEach
+    void shutdown() {
+        release.countDown();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentCallersForOneKeyShareOneLoad() throws Exception {
+
+        List<Future<String>> results = callConcurrently(1L, blockingLoader(() -> "order-1"));
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(10, TimeUnit.SECONDS)).isEqualTo("order-1");
+        }
+        assertThat(loads).hasValue(1);
+    }
+
+    @Test
+    void failedLoadReachesEveryWaiterAndClearsTheKey() throws Exception {
+
+        IllegalStateException failure = new IllegalStateException("Database unavailable");
+        List<Future<String>> results = callConcurrently(1L, blockingLoader(() -> {
+            throw failure;
+        }));
+        awaitFollowers(CALLERS - 1);
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(10, TimeUnit.SECONDS))
+                    .isInstanceOf(ExecutionException.class)
+                    .cause().isSameAs(failure);
+        }
+        assertThat(loads).hasValue(1);
+
+        // Nothing of the failed flight is left behind: the next call loads again
+        assertThat(singleFlight.execute(QUERY, 1L, WAIT, () -> {
+            loads.incrementAndGet();
+            return "order-1";
+        })).isEqualTo("order-1");
+        assertThat(loads).hasValue(2);
+    }
+
+    @Test
+    void differentKeysDoNotShareALoad() throws Exception {
+
+        // Each loader waits for the other, so this passes only if both run at once
+        CountDownLatch bothLoading = new CountDownLatch(2);
+        Future<String> first = executor.submit(() -> singleFlight.execute(QUERY, 1L, WAIT,
+                meetingLoader(bothLoading, "order-1")));
+        Future<String> second = executor.submit(() -> singleFlight.execute(QUERY, 2L, WAIT,
+                meetingLoader(bothLoading, "order-2")));
+
+        assertThat(first.get(10, TimeUnit.SECONDS)).isEqualTo("order-1");
+        assertThat(second.get(10, TimeUnit.SECONDS)).isEqualTo("order-2");
+        assertThat(loads).hasValue(2);
+    }
+
+    /* ---------- Helpers ---------- */
+
+    private List<Future<String>> callConcurrently(Object key, Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>(CALLERS);
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute(QUERY, key, WAIT, loader)));
+        }
+        return results;
+    }
+
+    // Counts the load, then holds it until the test releases it
+    private Supplier<String> blockingLoader(Supplier<String> result) {
+        return () -> {
+            loads.incrementAndGet();
+            try {
+                release.await();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return result.get();
+        };
+    }
+
+    private Supplier<String> meetingLoader(CountDownLatch bothLoading, String result) {
+        return () -> {
+            loads.incrementAndGet();
+            bothLoading.countDown();
+            try {
+                if (!bothLoading.await(10, TimeUnit.SECONDS)) {
+                    throw new IllegalStateException("The other key's load never started");
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException(e);
+            }
+            return result;
+        };
+    }
+
+    private void awaitFollowers(int followers) {
+        await().atMost(Duration.ofSeconds(10)).until(() -> meterRegistry
+                .get("order.singleflight.calls").tags("query", QUERY, "role", "follower")
+                .functionCounter().count() == followers);
+    }
+}
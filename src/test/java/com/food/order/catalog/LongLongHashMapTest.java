@@ -0,0 +1,144 @@
+package com.food.order.catalog;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LongLongHashMapTest {
+
+    private static final long MISSING = -1L;
+
+    // new LongLongHashMap(1) starts at the minimum capacity
+    private static final int CAPACITY = 16;
+
+    @Test
+    void removingFromTheMiddleOfAProbeRunKeepsLaterKeysReachable() {
+
+        List<Long> colliding = keysForSlot(3, 4);
+        LongLongHashMap map = new LongLongHashMap(1);
+        for (long key : colliding) {
+            map.put(key, key * 10);
+        }
+
+        assertThat(map.remove(colliding.get(1))).isTrue();
+
+        assertThat(map.get(colliding.get(1), MISSING)).isEqualTo(MISSING);
+        assertThat(map.get(colliding.get(0), MISSING)).isEqualTo(colliding.get(0) * 10);
+        assertThat(map.get(colliding.get(2), MISSING)).isEqualTo(colliding.get(2) * 10);
+        assertThat(map.get(colliding.get(3), MISSING)).isEqualTo(colliding.get(3) * 10);
+        assertThat(map.size()).isEqualTo(3);
+    }
+
+    @Test
+    void removingFromARunThatWrapsAroundKeepsLaterKeysReachable() {
+
+        // Ideal slot is the last one, so the run continues at slot 0
+        List<Long> colliding = keysForSlot(CAPACITY - 1, 3);
+        LongLongHashMap map = new LongLongHashMap(1);
+        for (long key : colliding) {
+            map.put(key, key);
+        }
+
+        assertThat(map.remove(colliding.get(0))).isTrue();
+
+        assertThat(map.get(colliding.get(1), MISSING)).isEqualTo(colliding.get(1));
+        assertThat(map.get(colliding.get(2), MISSING)).isEqualTo(colliding.get(2));
+        assertThat(map.remove(colliding.get(0))).isFalse();
+    }
+
+    @Test
+    void keepsTheZeroKeyOutsideTheTable() {
+
+        LongLongHashMap map = new LongLongHashMap(1);
+        assertThat(map.get(0L, MISSING)).isEqualTo(MISSING);
+
+        map.put(0L, 42L);
+        map.put(7L, 70L);
+        assertThat(map.get(0L, MISSING)).isEqualTo(42L);
+        assertThat(map.size()).isEqualTo(2);
+        assertThat(map.copy().get(0L, MISSING)).isEqualTo(42L);
+
+        assertThat(map.remove(0L)).isTrue();
+        assertThat(map.remove(0L)).isFalse();
+        assertThat(map.get(0L, MISSING)).isEqualTo(MISSING);
+        assertThat(map.get(7L, MISSING)).isEqualTo(70L);
+        assertThat(map.size()).isEqualTo(1);
+    }
+
+    @Test
+    void rehashesAsItGrows() {
+
+        LongLongHashMap map = new LongLongHashMap(1);
+        long initialMemory = map.memoryBytes();
+
+        for (long key = 1; key <= 10_000; key++) {
+            map.put(key, key * 3);
+        }
+
+        assertThat(map.size()).isEqualTo(10_000);
+        assertThat(map.memoryBytes()).isGreaterThan(initialMemory);
+        for (long key = 1; key <= 10_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo(key * 3);
+        }
+        assertThat(map.get(10_001L, MISSING)).isEqualTo(MISSING);
+    }
+
+    @Test
+    void copyIsIndependentOfTheOriginal() {
+
+        LongLongHashMap original = new LongLongHashMap(4);
+        original.put(1L, 10L);
+
+        LongLongHashMap copy = original.copy();
+        copy.put(1L, 11L);
+        copy.put(2L, 20L);
+
+        assertThat(original.get(1L, MISSING)).isEqualTo(10L);
+        assertThat(original.get(2L, MISSING)).isEqualTo(MISSING);
+        assertThat(copy.get(1L, MISSING)).isEqualTo(11L);
+    }
+
+    @Test
+    void matchesHashMapUnderRandomPutsAndRemoves() {
+
+        Random random = new Random(42);
+        LongLongHashMap map = new LongLongHashMap(1);
+        Map<Long, Long> expected = new HashMap<>();
+
+        for (int i = 0; i < 200_000; i++) {
+            // Small key range, so runs are long and removes hit them often
+            long key = random.nextInt(2_000);
+            if (random.nextInt(3) == 0) {
+                assertThat(map.remove(key)).isEqualTo(expected.remove(key) != null);
+            } else {
+                long value = random.nextInt(1_000_000);
+                map.put(key, value);
+                expected.put(key, value);
+            }
+        }
+
+        assertThat(map.size()).isEqualTo(expected.size());
+        for (long key = 0; key < 2_000; key++) {
+            assertThat(map.get(key, MISSING)).isEqualTo(expected.getOrDefault(key, MISSING));
+        }
+    }
+
+    // Non-zero keys whose ideal slot in a table of CAPACITY slots is slot,
+    // using the same hash as LongLongHashMap
+    private static List<Long> keysForSlot(int slot, int count) {
+        List<Long> keys = new ArrayList<>(count);
+        for (long key = 1; keys.size() < count; key++) {
+            long hash = key * 0x9E3779B97F4A7C15L;
+            if (((int) (hash ^ (hash >>> 32)) & (CAPACITY - 1)) == slot) {
+                keys.add(key);
+            }
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,45 @@
+package com.food.order.config;
+
+import jakarta.servlet.FilterChain;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RequestConcurrencyLimitFilterTest {
+
+    // One permit, and excess requests are shed at once
+    private final RequestConcurrencyLimitFilter filter = new RequestConcurrencyLimitFilter(1, 0);
+
+    @Test
+    void releasesThePermitWhenTheRequestReturns() throws Exception {
+        assertThat(send((request, response) -> { })).isEqualTo(200);
+        assertThat(send((request, response) -> { })).isEqualTo(200);
+    }
+
+    @Test
+    void holdsThePermitUntilAsyncProcessingCompletes() throws Exception {
+        MockHttpServletRequest streaming = request();
+        filter.doFilter(streaming, new MockHttpServletResponse(), (request, response) -> request.startAsync());
+
+        // The streamed response is still being written
+        assertThat(send((request, response) -> { })).isEqualTo(503);
+
+        ((MockAsyncContext) streaming.getAsyncContext()).complete();
+        assertThat(send((request, response) -> { })).isEqualTo(200);
+    }
+
+    private int send(FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(), response, chain);
+        return response.getStatus();
+    }
+
+    private static MockHttpServletRequest request() {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/api/v1/orders/export");
+        request.setAsyncSupported(true);
+        return request;
+    }
+}
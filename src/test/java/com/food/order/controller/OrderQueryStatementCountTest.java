@@ -0,0 +1,135 @@
+package com.food.order.controller;
+
+import com.food.order.dto.OrderRequest;
+import com.food.order.model.OrderStatus;
+import com.food.order.service.OrderService;
+import com.food.order.support.H2StreamingSupport;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statements per read endpoint, taken from the
+ * {@code order.http.statements} summary that StatementMetrics records.
+ * Orders are read with their items in one joined SELECT however many
+ * orders and items there are; a regression to lazy loading shows up as
+ * one extra statement per order.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc
+@ActiveProfiles("test")
+@Import(H2StreamingSupport.class)
+@EmbeddedKafka(kraft = true, partitions = 1,
+        topics = {"order.created", "order.status.changed", "order.cancelled"})
+class OrderQueryStatementCountTest {
+
+    private static final String BASE = "/api/v1/orders";
+    private static final int ORDERS = 4;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    private long customerId;
+    private long restaurantId;
+    private List<Long> orderIds;
+
+    @BeforeEach
+    void seed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        customerId = 1_000_000L + random.nextInt(1_000_000);
+        restaurantId = 1_000_000L + random.nextInt(1_000_000);
+        orderIds = IntStream.range(0, ORDERS)
+                .mapToObj(i -> orderService.createOrder(order(customerId, restaurantId)).id())
+                .toList();
+    }
+
+    @Test
+    void customerOrdersLoadInOneStatement() throws Exception {
+        assertThat(statements("/customer/{customerId}", BASE + "/customer/" + customerId, ORDERS))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void restaurantOrdersLoadInOneStatement() throws Exception {
+        assertThat(statements("/restaurant/{restaurantId}", BASE + "/restaurant/" + restaurantId, ORDERS))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void statusListingLoadsInOneStatement() throws Exception {
+        assertThat(statements("/status/{status}", BASE + "/status/" + OrderStatus.PENDING, null))
+                .isEqualTo(1);
+    }
+
+    @Test
+    void orderByIdLoadsInOneStatementThenComesFromTheCache() throws Exception {
+        String uri = BASE + "/" + orderIds.get(0);
+        assertThat(statements("/{orderId}", uri, null)).isEqualTo(1);
+        assertThat(statements("/{orderId}", uri, null)).isZero();
+    }
+
+    /* ---------- Helpers ---------- */
+
+    // Statements recorded for one GET; expectedSize checks a list response
+    private long statements(String pattern, String uri, Integer expectedSize) throws Exception {
+        long countBefore = summary(pattern) == null ? 0 : summary(pattern).count();
+        double totalBefore = summary(pattern) == null ? 0 : summary(pattern).totalAmount();
+
+        var result = mockMvc.perform(get(uri)).andExpect(status().isOk());
+        if (expectedSize != null) {
+            result.andExpect(jsonPath("$.length()").value(expectedSize));
+        }
+
+        DistributionSummary summary = summary(pattern);
+        assertThat(summary).isNotNull();
+        assertThat(summary.count() - countBefore).isEqualTo(1);
+        return (long) (summary.totalAmount() - totalBefore);
+    }
+
+    private DistributionSummary summary(String pattern) {
+        return meterRegistry.find("order.http.statements")
+                .tag("method", "GET")
+                .tag("uri", BASE + pattern)
+                .summary();
+    }
+
+    private static OrderRequest order(long customerId, long restaurantId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        // Several items per order, so per-order item loading would be visible
+        return OrderRequest.builder()
+                .customerId(customerId)
+                .restaurantId(restaurantId)
+                .items(IntStream.range(0, 3)
+                        .mapToObj(i -> OrderRequest.OrderItemRequest.builder()
+                                .menuItemId(1L + random.nextInt(10_000))
+                                .quantity(1 + random.nextInt(3))
+                                .build())
+                        .toList())
+                .deliveryAddress("1 Test Lane")
+                .contactPhone("+15550100" + (10 + random.nextInt(90)))
+                .build();
+    }
+}
@@ -0,0 +1,108 @@
+package com.food.order.id;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class OrderIdGeneratorTest {
+
+    private static final long NODE_ID = 7;
+    private static final long START = Instant.parse("2026-01-01T00:00:00Z").toEpochMilli();
+    private static final int SEQUENCES_PER_MILLI = 1 << OrderIdGenerator.SEQUENCE_BITS;
+
+    private final AtomicLong clock = new AtomicLong(START);
+    private final OrderIdGenerator generator = new OrderIdGenerator(NODE_ID, clock::get);
+
+    @Test
+    void keepsIncreasingWhenTheClockStepsBack() {
+
+        long before = generator.nextId();
+        clock.set(START - 5_000);
+        long after = generator.nextId();
+
+        assertThat(after).isGreaterThan(before);
+        // Still counts from the last timestamp instead of the earlier clock reading
+        assertThat(OrderIdGenerator.timestampOf(after)).isEqualTo(Instant.ofEpochMilli(START));
+
+        clock.set(START + 1);
+        assertThat(generator.nextId()).isGreaterThan(after);
+    }
+
+    @Test
+    void borrowsTheNextMillisecondWhenTheSequenceRunsOut() {
+
+        long previous = -1;
+        for (int i = 0; i < SEQUENCES_PER_MILLI; i++) {
+            long id = generator.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(OrderIdGenerator.timestampOf(id)).isEqualTo(Instant.ofEpochMilli(START));
+            previous = id;
+        }
+
+        // The clock has not moved, but the sequence is exhausted
+        long rolledOver = generator.nextId();
+        assertThat(rolledOver).isGreaterThan(previous);
+        assertThat(OrderIdGenerator.timestampOf(rolledOver)).isEqualTo(Instant.ofEpochMilli(START + 1));
+        assertThat(OrderIdGenerator.nodeOf(rolledOver)).isEqualTo(NODE_ID);
+    }
+
+    @Test
+    void issuesUniqueIdsAcrossThreads() throws Exception {
+
+        int threads = 8;
+        int perThread = 50_000;
+        OrderIdGenerator shared = new OrderIdGenerator(NODE_ID);
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> batches = new ArrayList<>(threads);
+        try {
+            for (int t = 0; t < threads; t++) {
+                batches.add(executor.submit(() -> {
+                    long[] ids = new long[perThread];
+                    for (int i = 0; i < perThread; i++) {
+                        ids[i] = shared.nextId();
+                    }
+                    return ids;
+                }));
+            }
+
+            long[] all = new long[threads * perThread];
+            int offset = 0;
+            for (Future<long[]> batch : batches) {
+                long[] ids = batch.get(30, TimeUnit.SECONDS);
+                // Each thread also sees its own ids in order
+                assertThat(ids).isSorted();
+                System.arraycopy(ids, 0, all, offset, ids.length);
+                offset += ids.length;
+            }
+
+            assertThat(Arrays.stream(all).distinct().count()).isEqualTo(all.length);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void idsFromOneCallerAreStrictlyIncreasing() {
+
+        OrderIdGenerator systemClock = new OrderIdGenerator(NODE_ID);
+
+        long previous = systemClock.nextId();
+        for (int i = 0; i < 100_000; i++) {
+            long id = systemClock.nextId();
+            assertThat(id).isGreaterThan(previous);
+            assertThat(OrderIdGenerator.nodeOf(id)).isEqualTo(NODE_ID);
+            previous = id;
+        }
+    }
+}
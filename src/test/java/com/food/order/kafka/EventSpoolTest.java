@@ -0,0 +1,47 @@
+package com.food.order.kafka;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class EventSpoolTest {
+
+    private static final int SEGMENT_SIZE = 64;
+
+    @TempDir
+    private Path directory;
+
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private EventSpool eventSpool;
+
+    @BeforeEach
+    void open() throws IOException {
+        eventSpool = new EventSpool(directory.toString(), false, SEGMENT_SIZE, 2, meterRegistry);
+        eventSpool.open();
+    }
+
+    @AfterEach
+    void close() throws IOException {
+        eventSpool.close();
+    }
+
+    @Test
+    void refusesARecordLargerThanASegment() {
+
+        assertThat(eventSpool.append(new byte[SEGMENT_SIZE])).isFalse();
+        assertThat(meterRegistry.counter("order.spool.rejected").count()).isEqualTo(1);
+        assertThat(eventSpool.isEmpty()).isTrue();
+
+        // The refusal leaves the spool usable
+        assertThat(eventSpool.append(new byte[16])).isTrue();
+        assertThat(eventSpool.depth()).isEqualTo(1);
+    }
+}
@@ -0,0 +1,84 @@
+package com.food.order.kafka;
+
+import com.food.order.event.OrderEventPayload;
+import com.food.order.event.OrderEventType;
+import com.food.order.model.OrderStatus;
+import org.apache.kafka.common.errors.SerializationException;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class OrderEventCodecTest {
+
+    // Byte offsets from the layout in OrderEventCodec
+    private static final int VERSION = 1;
+    private static final int EVENT_TYPE = 2;
+    private static final int STATUS = 3;
+
+    @Test
+    void roundTripsEveryField() {
+        OrderEventPayload event = event();
+        assertThat(OrderEventCodec.decode(OrderEventCodec.encode(event))).isEqualTo(event);
+    }
+
+    @Test
+    void rejectsOtherVersions() {
+        byte[] data = OrderEventCodec.encode(event());
+        data[VERSION] = (byte) (OrderEventPayload.CURRENT_VERSION + 1);
+
+        assertThatThrownBy(() -> OrderEventCodec.decode(data))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unsupported order event version");
+    }
+
+    @Test
+    void refusesToEncodeOtherVersions() {
+        OrderEventPayload current = event();
+        OrderEventPayload older = new OrderEventPayload(OrderEventPayload.CURRENT_VERSION - 1,
+                current.eventType(), current.orderId(), current.orderNumber(), current.customerId(),
+                current.restaurantId(), current.status(), current.previousStatus(),
+                current.totalAmount(), current.occurredAt());
+
+        assertThatThrownBy(() -> OrderEventCodec.encode(older))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Cannot encode order event version");
+    }
+
+    @Test
+    void rejectsUnknownOrdinals() {
+        byte[] badType = OrderEventCodec.encode(event());
+        badType[EVENT_TYPE] = (byte) OrderEventType.values().length;
+        assertThatThrownBy(() -> OrderEventCodec.decode(badType))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unknown order event type ordinal");
+
+        byte[] badStatus = OrderEventCodec.encode(event());
+        badStatus[STATUS] = (byte) OrderStatus.values().length;
+        assertThatThrownBy(() -> OrderEventCodec.decode(badStatus))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Unknown order status ordinal");
+    }
+
+    @Test
+    void rejectsTruncatedData() {
+        byte[] data = OrderEventCodec.encode(event());
+
+        assertThatThrownBy(() -> OrderEventCodec.decode(Arrays.copyOf(data, data.length - 1)))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Truncated");
+        assertThatThrownBy(() -> OrderEventCodec.decode(Arrays.copyOf(data, 20)))
+                .isInstanceOf(SerializationException.class)
+                .hasMessageContaining("Truncated");
+    }
+
+    private static OrderEventPayload event() {
+        return new OrderEventPayload(OrderEventPayload.CURRENT_VERSION, OrderEventType.STATUS_CHANGED,
+                42L, "ORD-42", 7L, 9L, OrderStatus.PREPARING, OrderStatus.CONFIRMED,
+                new BigDecimal("25.50"), LocalDateTime.of(2026, 1, 2, 3, 4, 5, 600_000_000));
+    }
+}
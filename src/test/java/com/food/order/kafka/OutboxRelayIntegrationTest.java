@@ -0,0 +1,190 @@
+package com.food.order.kafka;
+
+import com.food.order.dto.OrderRequest;
+import com.food.order.event.OrderEventPayload;
+import com.food.order.service.OrderService;
+import com.food.order.support.H2StreamingSupport;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.common.KafkaException;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.mock.mockito.SpyBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.context.EmbeddedKafka;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.awaitility.Awaitility.await;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doReturn;
+
+/**
+ * Order events from the order's own transaction to Kafka: outbox rows are
+ * written atomically with the order, relayed in batches and marked
+ * published, and spooled through a broker outage. The relay's schedule is
+ * stretched out in the test profile; each test runs it by hand.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@Import(H2StreamingSupport.class)
+@EmbeddedKafka(kraft = true, partitions = 1,
+        topics = {"order.created", "order.status.changed", "order.cancelled"})
+class OutboxRelayIntegrationTest {
+
+    private static final Duration DELIVERY_TIMEOUT = Duration.ofSeconds(30);
+
+    @Autowired
+    private OrderService orderService;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private OutboxRelay outboxRelay;
+
+    @Autowired
+    private EventSpool eventSpool;
+
+    @Autowired
+    private MeterRegistry meterRegistry;
+
+    @Autowired
+    private EmbeddedKafkaBroker broker;
+
+    @SpyBean
+    private OrderProducer orderProducer;
+
+    private Consumer<String, String> consumer;
+
+    @BeforeEach
+    void subscribe() {
+        // Leftovers of earlier tests
+        outboxRelay.relay();
+        consumer = new DefaultKafkaConsumerFactory<>(
+                KafkaTestUtils.consumerProps("outbox-test-" + UUID.randomUUID(), "false", broker),
+                new StringDeserializer(), new StringDeserializer())
+                .createConsumer();
+        broker.consumeFromAnEmbeddedTopic(consumer, "order.created");
+    }
+
+    @AfterEach
+    void close() {
+        Mockito.reset(orderProducer);
+        consumer.close();
+    }
+
+    @Test
+    void outboxRowCommitsAndRollsBackWithTheOrder() {
+
+        Long rolledBack = transactionTemplate.execute(status -> {
+            Long id = orderService.createOrder(order()).id();
+            status.setRollbackOnly();
+            return id;
+        });
+        assertThat(count("SELECT COUNT(*) FROM orders WHERE id = ?", rolledBack)).isZero();
+        assertThat(count("SELECT COUNT(*) FROM order_outbox WHERE aggregate_id = ?", rolledBack)).isZero();
+
+        Long committed = orderService.createOrder(order()).id();
+        assertThat(count("SELECT COUNT(*) FROM order_outbox WHERE aggregate_id = ? AND event_type = 'CREATED'",
+                committed)).isEqualTo(1);
+    }
+
+    @Test
+    void relaysEventsInBatchesAndMarksThemPublished() {
+
+        List<Long> ids = IntStream.range(0, 5)
+                .mapToObj(i -> orderService.createOrder(order()).id())
+                .toList();
+        long batches = batchCount();
+        double published = meterRegistry.counter("order.outbox.published").count();
+
+        outboxRelay.relay();
+
+        // order.outbox.batch-size is 2: two full batches, then a short one ends the run
+        assertThat(batchCount() - batches).isEqualTo(3);
+        assertThat(meterRegistry.counter("order.outbox.published").count() - published).isEqualTo(5);
+        assertThat(ids).allMatch(id -> unpublished(id) == 0);
+        awaitDelivery(ids);
+    }
+
+    @Test
+    void spoolsEventsThroughABrokerOutage() {
+
+        doReturn(CompletableFuture.failedFuture(new KafkaException("Broker unavailable")))
+                .when(orderProducer).send(any(OrderEventPayload.class));
+
+        Long id = orderService.createOrder(order()).id();
+        outboxRelay.relay();
+
+        // The relay gives up on the send and hands the event to the spool
+        assertThat(unpublished(id)).isZero();
+        assertThat(eventSpool.isEmpty()).isFalse();
+
+        Mockito.reset(orderProducer);
+
+        awaitDelivery(List.of(id));
+        await().atMost(DELIVERY_TIMEOUT).until(eventSpool::isEmpty);
+    }
+
+    /* ---------- Helpers ---------- */
+
+    private void awaitDelivery(List<Long> orderIds) {
+        Set<String> expected = orderIds.stream().map(String::valueOf).collect(Collectors.toSet());
+        Set<String> received = new HashSet<>();
+        await().atMost(DELIVERY_TIMEOUT).until(() -> {
+            KafkaTestUtils.getRecords(consumer, Duration.ofMillis(200))
+                    .forEach(record -> received.add(record.key()));
+            return received.containsAll(expected);
+        });
+    }
+
+    private long batchCount() {
+        return meterRegistry.timer("order.outbox.batch").count();
+    }
+
+    private long unpublished(Long orderId) {
+        return count("SELECT COUNT(*) FROM order_outbox WHERE aggregate_id = ? AND published_at IS NULL", orderId);
+    }
+
+    private long count(String sql, Long orderId) {
+        return jdbcTemplate.queryForObject(sql, Long.class, orderId);
+    }
+
+    private static OrderRequest order() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        return OrderRequest.builder()
+                .customerId(1L + random.nextInt(100_000))
+                .restaurantId(1L + random.nextInt(500))
+                .items(List.of(OrderRequest.OrderItemRequest.builder()
+                        .menuItemId(1L + random.nextInt(10_000))
+                        .quantity(1 + random.nextInt(3))
+                        .build()))
+                .deliveryAddress("1 Test Lane")
+                .contactPhone("+15550100" + (10 + random.nextInt(90)))
+                .build();
+    }
+}
@@ -0,0 +1,46 @@
+package com.food.order.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.classic.spi.LoggingEvent;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LogfmtConvertersTest {
+
+    private final LoggerContext context = new LoggerContext();
+
+    @Test
+    void escapesMessagesIntoOneQuotedValue() {
+        LogfmtMessageConverter converter = new LogfmtMessageConverter();
+        converter.setContext(context);
+        converter.start();
+
+        assertThat(converter.convert(event("plain message", null))).isEqualTo("plain message");
+        assertThat(converter.convert(event("say \"hi\"\nC:\\tmp\tdone\r", null)))
+                .isEqualTo("say \\\"hi\\\"\\nC:\\\\tmp\\tdone\\r");
+    }
+
+    @Test
+    void writesStackTracesAsOneField() {
+        LogfmtThrowableConverter converter = new LogfmtThrowableConverter();
+        converter.setContext(context);
+        converter.start();
+
+        assertThat(converter.convert(event("no exception", null))).isEmpty();
+
+        String field = converter.convert(event("failed",
+                new IllegalStateException("outer", new IllegalArgumentException("inner \"cause\""))));
+        assertThat(field)
+                .startsWith(" exception=\"java.lang.IllegalStateException: outer\\n\\tat ")
+                .contains("Caused by: java.lang.IllegalArgumentException: inner \\\"cause\\\"")
+                .endsWith("\"")
+                .doesNotContain("\n", "\r");
+    }
+
+    private LoggingEvent event(String message, Throwable throwable) {
+        return new LoggingEvent(LogfmtConvertersTest.class.getName(), context.getLogger("test"),
+                Level.ERROR, message, throwable, null);
+    }
+}
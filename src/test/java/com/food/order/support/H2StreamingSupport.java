@@ -0,0 +1,81 @@
+package com.food.order.support;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * Lets the service run on H2 in tests and the load test. The streaming
+ * queries (menu catalog load, analytics rebuild, NDJSON listing) ask for
+ * Connector/J's row-by-row mode with a fetch size of
+ * {@code Integer.MIN_VALUE}, which H2 rejects; here a negative fetch size
+ * is ignored and the driver default applies instead.
+ */
+public class H2StreamingSupport implements BeanPostProcessor {
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource dataSource && !(bean instanceof FetchSizeClampingDataSource)) {
+            return new FetchSizeClampingDataSource(dataSource);
+        }
+        return bean;
+    }
+
+    private static final class FetchSizeClampingDataSource extends DelegatingDataSource {
+
+        private FetchSizeClampingDataSource(DataSource target) {
+            super(target);
+        }
+
+        @Override
+        public Connection getConnection() throws SQLException {
+            return connection(super.getConnection());
+        }
+
+        @Override
+        public Connection getConnection(String username, String password) throws SQLException {
+            return connection(super.getConnection(username, password));
+        }
+    }
+
+    // Statements created by the connection come back wrapped as well
+    private static Connection connection(Connection target) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(target, method, args);
+            if (result instanceof Statement statement && Statement.class.isAssignableFrom(method.getReturnType())) {
+                return statement(statement, method.getReturnType());
+            }
+            return result;
+        });
+    }
+
+    private static Object statement(Statement target, Class<?> type) {
+        return proxy(type, (proxy, method, args) -> {
+            if (method.getName().equals("setFetchSize") && (int) args[0] < 0) {
+                return null;
+            }
+            return invoke(target, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(H2StreamingSupport.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+}